@@ -28,15 +28,21 @@ import javafx.scene.paint.Color;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 
 /**
  * Created by hansolo on 28.01.16.
  */
 public class Alarm {
-    public enum Repetition { ONCE, HALF_HOURLY, HOURLY, DAILY, WEEKLY }
-    public static final boolean          ARMED   = true;
-    public static final boolean          UNARMED = false;
+    public enum Repetition { ONCE, HALF_HOURLY, HOURLY, DAILY, WEEKLY, RULE }
+    public enum MissedFirePolicy { FIRE_ONCE, FIRE_ALL, SKIP }
+    public static final boolean          ARMED            = true;
+    public static final boolean          UNARMED          = false;
+    public static final int              MAX_MISSED_FIRES = 100;
 
     public        final AlarmMarkerEvent ALARM_MARKER_PRESSED_EVENT  = new AlarmMarkerEvent(Alarm.this, null, AlarmMarkerEvent.ALARM_MARKER_PRESSED);
     public        final AlarmMarkerEvent ALARM_MARKER_RELEASED_EVENT = new AlarmMarkerEvent(Alarm.this, null, AlarmMarkerEvent.ALARM_MARKER_RELEASED);
@@ -47,6 +53,11 @@ public class Alarm {
     private             String           text;
     private             Command          command;
     private             Color            color;
+    private             AlarmRule        rule;
+    private             MissedFirePolicy missedFirePolicy;
+    private             long             commandTimeout;
+
+    private final List<Consumer<Alarm>> changeListeners = new CopyOnWriteArrayList<>();
 
 
     // ******************** Constructors **************************************
@@ -78,28 +89,39 @@ public class Alarm {
         this(REPETITION, TIME, ARMED, TEXT, COMMAND, Clock.DARK_COLOR);
     }
     public Alarm(final Repetition REPETITION, final ZonedDateTime TIME, final boolean ARMED, final String TEXT, final Command COMMAND, final Color COLOR) {
-        repetition = REPETITION;
-        time       = TIME;
-        armed      = ARMED;
-        text       = TEXT;
-        command    = COMMAND;
-        color      = COLOR;
+        repetition       = REPETITION;
+        time             = TIME;
+        armed            = ARMED;
+        text             = TEXT;
+        command          = COMMAND;
+        color            = COLOR;
+        missedFirePolicy = MissedFirePolicy.FIRE_ONCE;
+    }
+    public Alarm(final AlarmRule RULE) {
+        this(RULE, true, "", null);
+    }
+    public Alarm(final AlarmRule RULE, final boolean ARMED, final String TEXT, final Command COMMAND) {
+        this(Repetition.RULE, ZonedDateTime.now(), ARMED, TEXT, COMMAND, Clock.DARK_COLOR);
+        setRule(RULE);
     }
 
 
     // ******************** Methods *******************************************
     /**
      * Returns the repetition rate of the alarm.
-     * The values are ONCE, HALF_HOURLY, HOURLY, DAILY, WEEKLY
+     * The values are ONCE, HALF_HOURLY, HOURLY, DAILY, WEEKLY, RULE
      * @return the repetition rate of the alarm
      */
     public Repetition getRepetition() { return repetition; }
     /**
      * Defines the repetition rate of the alarm.
-     * The values are ONCE, HALF_HOURLY, HOURLY, DAILY, WEEKLY
+     * The values are ONCE, HALF_HOURLY, HOURLY, DAILY, WEEKLY, RULE
      * @param REPETITION
      */
-    public void setRepetition(final Repetition REPETITION) { repetition = REPETITION; }
+    public void setRepetition(final Repetition REPETITION) {
+        repetition = REPETITION;
+        fireChanged();
+    }
 
     /**
      * Returns the time of the alarm.
@@ -110,7 +132,89 @@ public class Alarm {
      * Defines the time of the alarm.
      * @param TIME
      */
-    public void setTime(final ZonedDateTime TIME) { time = TIME; }
+    public void setTime(final ZonedDateTime TIME) {
+        time = TIME;
+        fireChanged();
+    }
+
+    /**
+     * Returns the rule that defines when an alarm with repetition RULE
+     * will be triggered.
+     * @return the rule that defines when the alarm will be triggered
+     */
+    public AlarmRule getRule() { return rule; }
+    /**
+     * Defines the rule that defines when the alarm will be triggered
+     * (e.g. AlarmRule.weekdays(LocalTime.of(6, 0))). Setting a rule also sets
+     * the repetition to RULE. The time will be set to the next occurrence of
+     * the rule by the clock the alarm is added to, using the time and zone
+     * of that clock.
+     * @param RULE
+     */
+    public void setRule(final AlarmRule RULE) {
+        rule = RULE;
+        if (null != RULE) { repetition = Repetition.RULE; }
+        fireChanged();
+    }
+
+    /**
+     * Returns what happens with occurrences of the alarm that have been
+     * missed because the clock did not tick at their time.
+     * @return the policy for missed occurrences of the alarm
+     */
+    public MissedFirePolicy getMissedFirePolicy() { return missedFirePolicy; }
+    /**
+     * Defines what happens with occurrences of the alarm that have been
+     * missed. An occurrence is missed if the clock time was already more
+     * than one second after it when the clock checked its alarms, e.g.
+     * because the application was blocked or the computer was sleeping.
+     * FIRE_ONCE (default) triggers the alarm once for all missed occurrences,
+     * FIRE_ALL triggers the alarm for each missed occurrence and SKIP
+     * does not trigger the alarm for missed occurrences.
+     * To keep the clock responsive FIRE_ALL triggers at most
+     * MAX_MISSED_FIRES missed occurrences of all alarms per tick of the
+     * clock, the occurrences beyond that will be handled like FIRE_ONCE.
+     * Occurrences while the clock was not running or the alarms were
+     * disabled will never be triggered.
+     * @param POLICY
+     */
+    public void setMissedFirePolicy(final MissedFirePolicy POLICY) {
+        missedFirePolicy = null == POLICY ? MissedFirePolicy.FIRE_ONCE : POLICY;
+        fireChanged();
+    }
+
+    /**
+     * Returns the first time at or after the given time when the alarm
+     * will be triggered. For alarms that will be repeated the minute and
+     * second (plus the hour for DAILY and the day of week for WEEKLY) of
+     * the alarm time will be applied in the zone of the given time.
+     * Alarms with repetition ONCE will always return the alarm time and alarms
+     * with repetition RULE return the next occurrence of the rule or null.
+     * @param FROM
+     * @return the first time at or after the given time when the alarm will be triggered
+     */
+    public ZonedDateTime getNextTime(final ZonedDateTime FROM) {
+        ZonedDateTime next;
+        switch (repetition) {
+            case HALF_HOURLY:
+                next = FROM.withMinute(time.getMinute() % 30).withSecond(time.getSecond()).withNano(0);
+                while (next.isBefore(FROM)) { next = next.plusMinutes(30); }
+                return next;
+            case HOURLY:
+                next = FROM.withMinute(time.getMinute()).withSecond(time.getSecond()).withNano(0);
+                return next.isBefore(FROM) ? next.plusHours(1) : next;
+            case DAILY:
+                next = FROM.withHour(time.getHour()).withMinute(time.getMinute()).withSecond(time.getSecond()).withNano(0);
+                return next.isBefore(FROM) ? next.plusDays(1) : next;
+            case WEEKLY:
+                next = FROM.with(TemporalAdjusters.nextOrSame(time.getDayOfWeek())).withHour(time.getHour()).withMinute(time.getMinute()).withSecond(time.getSecond()).withNano(0);
+                return next.isBefore(FROM) ? next.plusWeeks(1) : next;
+            case RULE:
+                return null == rule ? null : rule.getNextTime(FROM);
+            case ONCE:
+            default  : return time;
+        }
+    }
 
     /**
      * Returns true if the alarm is activated.
@@ -123,7 +227,10 @@ public class Alarm {
      * If an alarm is not armed it will be drawn gray translucent.
      * @param ARMED
      */
-    public void setArmed(final boolean ARMED) { armed = ARMED; }
+    public void setArmed(final boolean ARMED) {
+        armed = ARMED;
+        fireChanged();
+    }
 
     /**
      * Returns the text that was defined for the alarm.
@@ -136,7 +243,10 @@ public class Alarm {
      * The text will be shown in tooltips.
      * @param TEXT
      */
-    public void setText(final String TEXT) { text = TEXT; }
+    public void setText(final String TEXT) {
+        text = TEXT;
+        fireChanged();
+    }
 
     /**
      * Returns an instance of a class that implements the Command interface.
@@ -154,6 +264,22 @@ public class Alarm {
     public void setCommand(final Command COMMAND) { command = COMMAND; }
     public void executeCommand() { if (null != command) command.execute(); }
 
+    /**
+     * Returns the time in milliseconds the command may take if it will be
+     * executed by a CommandExecutor. A value of 0 (default) means the
+     * default timeout of the executor will be used.
+     * @return the time in milliseconds the command may take
+     */
+    public long getCommandTimeout() { return commandTimeout; }
+    /**
+     * Defines the time in milliseconds the command may take if it will be
+     * executed by a CommandExecutor. If the command takes longer its thread
+     * will be interrupted. A value of 0 means the default timeout of the
+     * executor will be used.
+     * @param TIMEOUT
+     */
+    public void setCommandTimeout(final long TIMEOUT) { commandTimeout = Math.max(0, TIMEOUT); }
+
     /**
      * Returns the color that will be used to colorize the alarm in a clock.
      * @return the color that will be used to colorize the alarm
@@ -163,7 +289,25 @@ public class Alarm {
      * Defines the color that will be used to colorize the alarm
      * @param COLOR
      */
-    public void setColor(final Color COLOR) { color = COLOR; }
+    public void setColor(final Color COLOR) {
+        color = COLOR;
+        fireChanged();
+    }
+
+    void addChangeListener(final Consumer<Alarm> LISTENER) { if (!changeListeners.contains(LISTENER)) changeListeners.add(LISTENER); }
+    void removeChangeListener(final Consumer<Alarm> LISTENER) { changeListeners.remove(LISTENER); }
+
+    /**
+     * Updates the time of an alarm with repetition RULE to the next
+     * occurrence of the rule so that markers will be drawn at the right
+     * position. This will not notify the change listeners.
+     * @param TIME
+     */
+    void setNextTime(final ZonedDateTime TIME) { if (Repetition.RULE == repetition && null != TIME) { time = TIME; } }
+
+    private void fireChanged() {
+        for (Consumer<Alarm> listener : changeListeners) { listener.accept(Alarm.this); }
+    }
 
     @Override public String toString() {
         return new StringBuilder()
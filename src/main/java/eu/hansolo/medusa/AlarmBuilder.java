@@ -17,11 +17,14 @@
 package eu.hansolo.medusa;
 
 import eu.hansolo.medusa.Alarm.AlarmMarkerEvent;
+import eu.hansolo.medusa.Alarm.MissedFirePolicy;
 import eu.hansolo.medusa.Alarm.Repetition;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.LongProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -58,6 +61,16 @@ public class AlarmBuilder<B extends AlarmBuilder<B>> {
         return (B)this;
     }
 
+    public final B rule(final AlarmRule RULE) {
+        properties.put("rule", new SimpleObjectProperty<>(RULE));
+        return (B)this;
+    }
+
+    public final B missedFirePolicy(final MissedFirePolicy POLICY) {
+        properties.put("missedFirePolicy", new SimpleObjectProperty<>(POLICY));
+        return (B)this;
+    }
+
     public final B text(final String TEXT) {
         properties.put("text", new SimpleStringProperty(TEXT));
         return (B)this;
@@ -73,6 +86,11 @@ public class AlarmBuilder<B extends AlarmBuilder<B>> {
         return (B)this;
     }
 
+    public final B commandTimeout(final long TIMEOUT) {
+        properties.put("commandTimeout", new SimpleLongProperty(TIMEOUT));
+        return (B)this;
+    }
+
     public final B color(final Color COLOR) {
         properties.put("color", new SimpleObjectProperty<>(COLOR));
         return (B)this;
@@ -95,12 +113,16 @@ public class AlarmBuilder<B extends AlarmBuilder<B>> {
                 ALARM.setTime(((ObjectProperty<ZonedDateTime>) properties.get(key)).get());
             } else if("repetition".equals(key)) {
                 ALARM.setRepetition(((ObjectProperty<Repetition>) properties.get(key)).get());
+            } else if ("missedFirePolicy".equals(key)) {
+                ALARM.setMissedFirePolicy(((ObjectProperty<MissedFirePolicy>) properties.get(key)).get());
             } else if("text".equals(key)) {
                 ALARM.setText(((StringProperty) properties.get(key)).get());
             } else if("armed".equals(key)) {
                 ALARM.setArmed(((BooleanProperty) properties.get(key)).get());
             } else if ("command".equals(key)) {
                 ALARM.setCommand(((ObjectProperty<Command>) properties.get(key)).get());
+            } else if ("commandTimeout".equals(key)) {
+                ALARM.setCommandTimeout(((LongProperty) properties.get(key)).get());
             } else if ("color".equals(key)) {
                 ALARM.setColor(((ObjectProperty<Color>) properties.get(key)).get());
             } else if ("onAlarmMarkerPressed".equals(key)) {
@@ -109,6 +131,10 @@ public class AlarmBuilder<B extends AlarmBuilder<B>> {
                 ALARM.setOnMarkerReleased(((ObjectProperty<EventHandler>) properties.get(key)).get());
             }
         }
+        // The rule overrides time and repetition
+        if (properties.keySet().contains("rule")) {
+            ALARM.setRule(((ObjectProperty<AlarmRule>) properties.get("rule")).get());
+        }
         return ALARM;
     }
 }
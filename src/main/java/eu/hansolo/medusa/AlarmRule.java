@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa;
+
+import eu.hansolo.medusa.tools.CronExpression;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ *
+ * Defines when an alarm with repetition RULE will be triggered. A rule
+ * computes the next occurrence directly from a given time instead of
+ * matching the fields of the time on each tick of the clock.
+ * All rules that are created by the factory methods are cron expressions
+ * which means they can be stored in an AlarmStore.
+ */
+@FunctionalInterface
+public interface AlarmRule {
+
+    /**
+     * Returns the first occurrence of the rule at or after the given time
+     * in the zone of the given time or null if there is no further occurrence.
+     * @param FROM
+     * @return the first occurrence of the rule at or after the given time
+     */
+    ZonedDateTime getNextTime(ZonedDateTime FROM);
+
+
+    // ******************** Factory methods ***********************************
+    /**
+     * Returns a rule that is defined by the given cron expression
+     * e.g. "0 6 * * MON-FRI" for weekdays at 06:00 or "0 17 * * 5L"
+     * for the last friday of each month at 17:00.
+     * @param EXPRESSION
+     * @return a rule that is defined by the given cron expression
+     * @see CronExpression
+     */
+    static AlarmRule cron(final String EXPRESSION) { return new CronExpression(EXPRESSION); }
+
+    /**
+     * Returns a rule that occurs each day at the given time.
+     * @param TIME
+     * @return a rule that occurs each day at the given time
+     */
+    static AlarmRule daily(final LocalTime TIME) { return on(EnumSet.allOf(DayOfWeek.class), TIME); }
+
+    /**
+     * Returns a rule that occurs from monday to friday at the given time.
+     * @param TIME
+     * @return a rule that occurs from monday to friday at the given time
+     */
+    static AlarmRule weekdays(final LocalTime TIME) { return on(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), TIME); }
+
+    /**
+     * Returns a rule that occurs on saturday and sunday at the given time.
+     * @param TIME
+     * @return a rule that occurs on saturday and sunday at the given time
+     */
+    static AlarmRule weekends(final LocalTime TIME) { return on(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), TIME); }
+
+    /**
+     * Returns a rule that occurs on the given days of the week at the given time.
+     * @param DAYS
+     * @param TIME
+     * @return a rule that occurs on the given days of the week at the given time
+     */
+    static AlarmRule on(final Set<DayOfWeek> DAYS, final LocalTime TIME) {
+        if (DAYS.isEmpty()) { throw new IllegalArgumentException("At least one day of the week is needed"); }
+        final StringBuilder DAY_LIST = new StringBuilder();
+        for (DayOfWeek day : DAYS) { DAY_LIST.append(DAY_LIST.length() > 0 ? "," : "").append(day.getValue() % 7); }
+        return CronExpression.at(TIME, "*", DAY_LIST.toString());
+    }
+
+    /**
+     * Returns a rule that occurs on the given day of each month at the given
+     * time. Months that are shorter than the given day will be skipped.
+     * @param DAY_OF_MONTH
+     * @param TIME
+     * @return a rule that occurs on the given day of each month at the given time
+     */
+    static AlarmRule dayOfMonth(final int DAY_OF_MONTH, final LocalTime TIME) {
+        if (DAY_OF_MONTH < 1 || DAY_OF_MONTH > 31) { throw new IllegalArgumentException("Day of month must be in the range of 1 - 31"); }
+        return CronExpression.at(TIME, Integer.toString(DAY_OF_MONTH), "?");
+    }
+
+    /**
+     * Returns a rule that occurs on the last day of each month at the given time.
+     * @param TIME
+     * @return a rule that occurs on the last day of each month at the given time
+     */
+    static AlarmRule lastDayOfMonth(final LocalTime TIME) { return CronExpression.at(TIME, "L", "?"); }
+
+    /**
+     * Returns a rule that occurs on the given day of the week in the given
+     * week of each month at the given time e.g. the second tuesday of each month.
+     * Months without a fifth occurrence of the given day will be skipped.
+     * @param ORDINAL 1 - 5
+     * @param DAY
+     * @param TIME
+     * @return a rule that occurs on the nth day of the week of each month at the given time
+     */
+    static AlarmRule dayOfWeekInMonth(final int ORDINAL, final DayOfWeek DAY, final LocalTime TIME) {
+        if (ORDINAL < 1 || ORDINAL > 5) { throw new IllegalArgumentException("Ordinal must be in the range of 1 - 5"); }
+        return CronExpression.at(TIME, "?", (DAY.getValue() % 7) + "#" + ORDINAL);
+    }
+
+    /**
+     * Returns a rule that occurs on the last given day of the week of each
+     * month at the given time e.g. the last friday of each month.
+     * @param DAY
+     * @param TIME
+     * @return a rule that occurs on the last given day of the week of each month at the given time
+     */
+    static AlarmRule lastDayOfWeekInMonth(final DayOfWeek DAY, final LocalTime TIME) { return CronExpression.at(TIME, "?", (DAY.getValue() % 7) + "L"); }
+}
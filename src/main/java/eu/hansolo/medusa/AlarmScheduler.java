@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ *
+ * Keeps the alarms of a clock in a min-heap that is ordered by the next
+ * time each alarm will be triggered. The next time will only be computed
+ * when an alarm is added, changed or triggered which means checking the
+ * alarms on a tick only needs one comparison against the head of the heap.
+ */
+class AlarmScheduler {
+    private static final long              NOT_CHECKED = Long.MIN_VALUE;
+    private        final Clock             clock;
+    private        final Map<Alarm, Entry> entries;
+    private        final Consumer<Alarm>   alarmChanged;
+    private              Entry[]           heap;
+    private              int               size;
+    private              long              lastCheck;
+    private              ZoneId            lastZone;
+    private              long              noOfAddedAlarms;
+
+
+    // ******************** Constructors **************************************
+    AlarmScheduler(final Clock CLOCK) {
+        clock        = CLOCK;
+        entries      = new IdentityHashMap<>();
+        alarmChanged = ALARM -> update(ALARM);
+        heap         = new Entry[16];
+        size         = 0;
+        lastCheck    = NOT_CHECKED;
+    }
+
+
+    // ******************** Methods *******************************************
+    void add(final Alarm ALARM) {
+        if (entries.containsKey(ALARM)) return;
+        if (size == heap.length) { heap = Arrays.copyOf(heap, size << 1); }
+        final Entry ENTRY = new Entry(ALARM, noOfAddedAlarms++);
+        ENTRY.nextTime = getNextTime(ALARM, clock.getTime());
+        ENTRY.index    = size;
+        heap[size++]   = ENTRY;
+        entries.put(ALARM, ENTRY);
+        siftUp(ENTRY.index);
+        ALARM.addChangeListener(alarmChanged);
+    }
+
+    void remove(final Alarm ALARM) {
+        final Entry ENTRY = entries.remove(ALARM);
+        if (null == ENTRY) return;
+        ALARM.removeChangeListener(alarmChanged);
+        final int INDEX = ENTRY.index;
+        size--;
+        if (INDEX != size) {
+            heap[INDEX]       = heap[size];
+            heap[INDEX].index = INDEX;
+            heap[size]        = null;
+            siftDown(INDEX);
+            siftUp(INDEX);
+        } else {
+            heap[size] = null;
+        }
+    }
+
+    void clear() {
+        for (int i = 0 ; i < size ; i++) {
+            heap[i].alarm.removeChangeListener(alarmChanged);
+            heap[i] = null;
+        }
+        entries.clear();
+        size = 0;
+    }
+
+    int size() { return size; }
+
+    /**
+     * Marks the scheduled times as outdated. They will be computed again
+     * on the next call of check() which avoids that repeating alarms will
+     * be triggered for the time the alarms have not been checked.
+     */
+    void invalidate() { lastCheck = NOT_CHECKED; }
+
+    /**
+     * Has to be called before the due alarms will be polled. All alarms
+     * will be scheduled again if the alarms have not been checked before,
+     * the time went backwards or the zone of the clock has changed.
+     * @param TIME
+     * @param NOW epoch milliseconds of the given time
+     */
+    void check(final ZonedDateTime TIME, final long NOW) {
+        if (NOT_CHECKED == lastCheck || NOW < lastCheck || !TIME.getZone().equals(lastZone)) { rescheduleAll(TIME); }
+        lastCheck = NOW;
+        lastZone  = TIME.getZone();
+    }
+
+    /**
+     * Returns true if the next time of the alarm at the head of the
+     * heap is at or before the given epoch milliseconds.
+     * @param NOW
+     * @return true if the alarm at the head of the heap is due
+     */
+    boolean isDue(final long NOW) { return size > 0 && heap[0].nextTime <= NOW; }
+
+    /**
+     * Returns the alarm that will be triggered next or null if there are no alarms.
+     * @return the alarm that will be triggered next
+     */
+    Alarm peek() { return 0 == size ? null : heap[0].alarm; }
+
+    /**
+     * Returns the epoch milliseconds of the next alarm or Long.MAX_VALUE if there are no alarms.
+     * @return the epoch milliseconds of the next alarm
+     */
+    long getNextTime() { return 0 == size ? Long.MAX_VALUE : heap[0].nextTime; }
+
+    /**
+     * Schedules the given alarm for its next time at or after the given time.
+     * @param ALARM
+     * @param FROM
+     */
+    void reschedule(final Alarm ALARM, final ZonedDateTime FROM) {
+        final Entry ENTRY = entries.get(ALARM);
+        if (null == ENTRY) return;
+        ENTRY.notBefore = toMillis(FROM);
+        ENTRY.nextTime  = getNextTime(ALARM, FROM);
+        siftDown(ENTRY.index);
+        siftUp(ENTRY.index);
+    }
+
+    private void rescheduleAll(final ZonedDateTime TIME) {
+        for (int i = 0 ; i < size ; i++) {
+            heap[i].notBefore = Long.MIN_VALUE;
+            heap[i].nextTime  = getNextTime(heap[i].alarm, TIME);
+        }
+        for (int i = (size >>> 1) - 1 ; i >= 0 ; i--) { siftDown(i); }
+    }
+
+    /**
+     * Computes the next time of a changed alarm. An occurrence that was
+     * already triggered will not be scheduled again which avoids that a
+     * command that changes its own alarm triggers the alarm again.
+     */
+    private void update(final Alarm ALARM) {
+        final Entry ENTRY = entries.get(ALARM);
+        if (null == ENTRY) return;
+        ZonedDateTime from = clock.getTime();
+        if (toMillis(from) < ENTRY.notBefore) { from = ZonedDateTime.ofInstant(Instant.ofEpochMilli(ENTRY.notBefore), from.getZone()); }
+        ENTRY.nextTime = getNextTime(ALARM, from);
+        siftDown(ENTRY.index);
+        siftUp(ENTRY.index);
+    }
+
+    private static long getNextTime(final Alarm ALARM, final ZonedDateTime FROM) {
+        final ZonedDateTime NEXT_TIME = ALARM.getNextTime(FROM.truncatedTo(ChronoUnit.SECONDS));
+        if (null == NEXT_TIME) return Long.MAX_VALUE;
+        ALARM.setNextTime(NEXT_TIME);
+        return toMillis(NEXT_TIME);
+    }
+
+    private static long toMillis(final ZonedDateTime TIME) { return TIME.toEpochSecond() * 1000 + TIME.getNano() / 1_000_000; }
+
+    /**
+     * Alarms with the same next time will be triggered in the order they
+     * have been added which makes the order of the alarms deterministic.
+     */
+    private static boolean isBefore(final Entry A, final Entry B) {
+        return A.nextTime < B.nextTime || (A.nextTime == B.nextTime && A.sequence < B.sequence);
+    }
+
+    private void siftUp(int index) {
+        final Entry ENTRY = heap[index];
+        while (index > 0) {
+            int   parentIndex = (index - 1) >>> 1;
+            Entry parent      = heap[parentIndex];
+            if (!isBefore(ENTRY, parent)) break;
+            heap[index]  = parent;
+            parent.index = index;
+            index        = parentIndex;
+        }
+        heap[index] = ENTRY;
+        ENTRY.index = index;
+    }
+
+    private void siftDown(int index) {
+        final Entry ENTRY = heap[index];
+        final int   HALF  = size >>> 1;
+        while (index < HALF) {
+            int   childIndex = (index << 1) + 1;
+            Entry child      = heap[childIndex];
+            int   rightIndex = childIndex + 1;
+            if (rightIndex < size && isBefore(heap[rightIndex], child)) {
+                childIndex = rightIndex;
+                child      = heap[rightIndex];
+            }
+            if (!isBefore(child, ENTRY)) break;
+            heap[index] = child;
+            child.index = index;
+            index       = childIndex;
+        }
+        heap[index] = ENTRY;
+        ENTRY.index = index;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Entry {
+        private final Alarm alarm;
+        private final long  sequence;
+        private       long  nextTime;
+        private       long  notBefore;
+        private       int   index;
+
+        Entry(final Alarm ALARM, final long SEQUENCE) {
+            alarm     = ALARM;
+            sequence  = SEQUENCE;
+            notBefore = Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,577 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa;
+
+import eu.hansolo.medusa.Alarm.MissedFirePolicy;
+import eu.hansolo.medusa.Alarm.Repetition;
+import eu.hansolo.medusa.tools.CronExpression;
+import eu.hansolo.medusa.tools.Helper;
+import javafx.collections.ListChangeListener;
+import javafx.scene.paint.Color;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class AlarmStore implements AutoCloseable {
+    private static final int                        MAGIC              = 0x4D414C53;
+    private static final int                        VERSION            = 1;
+    private static final int                        HEADER_SIZE        = 8;
+    private static final byte                       PUT                = 1;
+    private static final byte                       REMOVE             = 2;
+    private static final String                     SNAPSHOT_FILE_NAME = "alarms.snapshot";
+    private static final String                     JOURNAL_FILE_NAME  = "alarms.journal";
+    private static final long                       FLUSH_DELAY        = 100;
+    private        final Path                       snapshotFile;
+    private        final Path                       journalFile;
+    private        final FileChannel                journal;
+    private        final Map<String, Alarm>         alarms;
+    private        final Map<Alarm, String>         ids;
+    private        final Map<String, byte[]>        pending;
+    private        final ScheduledExecutorService   writer;
+    private        final Consumer<Alarm>            alarmChanged;
+    private        final List<Clock>                clocks;
+    private        final ListChangeListener<Alarm>  clockAlarmsChanged;
+    private              int                        noOfJournalEntries;
+    private              int                        snapshotThreshold;
+    private              Function<String, Command>  commandResolver;
+    private              Consumer<IOException>      onError;
+    private              boolean                    loading;
+    private              boolean                    flushScheduled;
+    private              boolean                    closed;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Persists alarms in the given directory. Each change will be appended
+     * to a journal file and forced to disk. Calls of put(), putAll() and
+     * remove() will be written immediately. Changes of stored alarms (e.g.
+     * by their setters) will be collected and written by a background thread
+     * with one write and one force after at most 100 ms, which means that
+     * changing several properties of an alarm in a row only costs one write
+     * and that the JavaFX application thread never waits for the disk.
+     * If the journal contains more
+     * entries than the snapshot threshold, all alarms will be written to a
+     * snapshot file and the journal will be cleared. On creation the store
+     * loads the snapshot and replays the journal. An incomplete entry at the
+     * end of the journal (e.g. because the application crashed while writing)
+     * will be discarded.
+     * Changes of the time, repetition, rule, armed state, text, color and
+     * missed fire policy of stored alarms will be persisted automatically.
+     * Commands can not be persisted, they will be assigned on loadInto()
+     * by the command resolver.
+     * Only alarms without a rule or with a CronExpression (which includes all
+     * rules that are created by the factory methods of AlarmRule) can be stored.
+     * If another rule will be set on a stored alarm, the alarm will be
+     * removed from the store. Errors that occur while persisting such
+     * automatic changes will be passed to the consumer defined by setOnError().
+     * @param DIRECTORY
+     * @throws IOException
+     */
+    public AlarmStore(final Path DIRECTORY) throws IOException {
+        Files.createDirectories(DIRECTORY);
+        snapshotFile       = DIRECTORY.resolve(SNAPSHOT_FILE_NAME);
+        journalFile        = DIRECTORY.resolve(JOURNAL_FILE_NAME);
+        alarms             = new LinkedHashMap<>();
+        ids                = new IdentityHashMap<>();
+        pending            = new LinkedHashMap<>();
+        writer             = Executors.newSingleThreadScheduledExecutor(Helper.getThreadFactory("AlarmStoreWriter", true));
+        alarmChanged       = ALARM -> onAlarmChanged(ALARM);
+        clocks             = new ArrayList<>();
+        clockAlarmsChanged = c -> onClockAlarmsChanged(c);
+        snapshotThreshold  = 1000;
+
+        if (Files.exists(snapshotFile)) { read(snapshotFile); }
+        final long VALID_JOURNAL_SIZE = Files.exists(journalFile) ? read(journalFile) : 0;
+        noOfJournalEntries = 0;
+
+        journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (VALID_JOURNAL_SIZE < HEADER_SIZE) {
+            journal.truncate(0);
+            writeHeader(journal);
+        } else {
+            journal.truncate(VALID_JOURNAL_SIZE);
+            journal.position(VALID_JOURNAL_SIZE);
+        }
+        journal.force(true);
+        for (Alarm alarm : alarms.values()) { alarm.addChangeListener(alarmChanged); }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Stores the given alarm with the given id. An alarm that was stored
+     * with the same id before will be replaced.
+     * @param ID
+     * @param ALARM
+     * @throws IOException
+     */
+    public synchronized void put(final String ID, final Alarm ALARM) throws IOException {
+        checkRule(ALARM);
+        writePending();
+        putAlarm(ID, ALARM);
+        append(encodePut(ID, ALARM));
+        journal.force(false);
+        snapshotIfNeeded();
+    }
+
+    /**
+     * Stores all given alarms with one write to the journal.
+     * @param ALARMS map of ids and alarms
+     * @throws IOException
+     */
+    public synchronized void putAll(final Map<String, Alarm> ALARMS) throws IOException {
+        for (Alarm alarm : ALARMS.values()) { checkRule(alarm); }
+        writePending();
+        final ByteArrayOutputStream BYTES = new ByteArrayOutputStream();
+        for (Map.Entry<String, Alarm> entry : ALARMS.entrySet()) {
+            putAlarm(entry.getKey(), entry.getValue());
+            BYTES.write(encodePut(entry.getKey(), entry.getValue()));
+        }
+        append(BYTES.toByteArray(), ALARMS.size());
+        journal.force(false);
+        snapshotIfNeeded();
+    }
+
+    /**
+     * Removes the alarm with the given id from the store.
+     * @param ID
+     * @throws IOException
+     */
+    public synchronized void remove(final String ID) throws IOException {
+        writePending();
+        final Alarm ALARM = alarms.remove(ID);
+        if (null == ALARM) return;
+        ids.remove(ALARM);
+        ALARM.removeChangeListener(alarmChanged);
+        append(encodeRemove(ID));
+        journal.force(false);
+        snapshotIfNeeded();
+    }
+
+    public synchronized Alarm get(final String ID) { return alarms.get(ID); }
+
+    public synchronized String getId(final Alarm ALARM) { return ids.get(ALARM); }
+
+    /**
+     * Returns a copy of all stored alarms in the order they have been stored.
+     * @return a copy of all stored alarms
+     */
+    public synchronized List<Alarm> getAlarms() { return new ArrayList<>(alarms.values()); }
+
+    public synchronized int size() { return alarms.size(); }
+
+    /**
+     * Returns the number of entries in the journal since the last snapshot.
+     * @return the number of entries in the journal since the last snapshot
+     */
+    public synchronized int getNoOfJournalEntries() { return noOfJournalEntries; }
+
+    /**
+     * Writes all collected changes of stored alarms to the journal and
+     * forces it to disk without waiting for the background thread.
+     * @throws IOException
+     */
+    public synchronized void flush() throws IOException {
+        writePending();
+        journal.force(false);
+        snapshotIfNeeded();
+    }
+
+    public synchronized int getSnapshotThreshold() { return snapshotThreshold; }
+    /**
+     * Defines the number of journal entries after which a snapshot will be
+     * written automatically. A value of 0 disables automatic snapshots.
+     * @param THRESHOLD
+     */
+    public synchronized void setSnapshotThreshold(final int THRESHOLD) { snapshotThreshold = Math.max(0, THRESHOLD); }
+
+    /**
+     * Defines a function that returns the command for the alarm with the
+     * given id. It will be called for each alarm in loadInto().
+     * @param RESOLVER
+     */
+    public synchronized void setCommandResolver(final Function<String, Command> RESOLVER) { commandResolver = RESOLVER; }
+
+    /**
+     * Defines a consumer that will be called with the exception if a change
+     * of a stored alarm or of the alarms of a loaded clock could not be
+     * written to the journal. The consumer will be called on the background
+     * thread of the store. Without a consumer these errors will be ignored.
+     * @param CONSUMER
+     */
+    public synchronized void setOnError(final Consumer<IOException> CONSUMER) { onError = CONSUMER; }
+
+    /**
+     * Writes all alarms to the snapshot file and clears the journal.
+     * The snapshot will be written to a temporary file first that replaces
+     * the old snapshot in one atomic operation.
+     * @throws IOException
+     */
+    public synchronized void snapshot() throws IOException {
+        final Path TEMP_FILE = snapshotFile.resolveSibling(SNAPSHOT_FILE_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(TEMP_FILE, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(channel);
+            final ByteArrayOutputStream BYTES = new ByteArrayOutputStream();
+            for (Map.Entry<String, Alarm> entry : alarms.entrySet()) { BYTES.write(encodePut(entry.getKey(), entry.getValue())); }
+            write(channel, BYTES.toByteArray());
+            channel.force(true);
+        }
+        Files.move(TEMP_FILE, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Replaying the journal on top of the snapshot leads to the same state, so a crash before the truncation is harmless
+        journal.truncate(HEADER_SIZE);
+        journal.position(HEADER_SIZE);
+        journal.force(true);
+        noOfJournalEntries = 0;
+        // The snapshot already contains all collected changes
+        pending.clear();
+    }
+
+    /**
+     * Sets the alarms of the given clock to all stored alarms in one list
+     * operation. Alarms with repetition ONCE that have been stored with a
+     * time before the current time of the clock have been missed while the
+     * application was not running. Armed missed alarms will be triggered on
+     * the next tick of the clock in the order of their time (alarms with the
+     * same time in the order they have been stored) and according to their
+     * MissedFirePolicy. Alarms with repetition ONCE that have been removed
+     * from the clock after their time (e.g. because they have been triggered)
+     * will be removed from the store.
+     * @param CLOCK
+     * @return the number of missed alarms with repetition ONCE that will be triggered (excluding MissedFirePolicy.SKIP)
+     * @throws IOException
+     */
+    public synchronized int loadInto(final Clock CLOCK) throws IOException {
+        final long         NOW              = CLOCK.getTime().toInstant().toEpochMilli();
+        final List<String> EXPIRED          = new ArrayList<>();
+        int                noOfMissedAlarms = 0;
+        for (Map.Entry<String, Alarm> entry : alarms.entrySet()) {
+            final Alarm ALARM = entry.getValue();
+            if (null != commandResolver) { ALARM.setCommand(commandResolver.apply(entry.getKey())); }
+            if (Repetition.ONCE != ALARM.getRepetition() || ALARM.getTime().toInstant().toEpochMilli() > NOW) continue;
+            if (ALARM.isArmed()) {
+                if (MissedFirePolicy.SKIP != ALARM.getMissedFirePolicy()) { noOfMissedAlarms++; }
+            } else {
+                EXPIRED.add(entry.getKey());
+            }
+        }
+        for (String id : EXPIRED) { remove(id); }
+        if (!clocks.contains(CLOCK)) {
+            clocks.add(CLOCK);
+            CLOCK.getAlarms().addListener(clockAlarmsChanged);
+        }
+        loading = true;
+        try {
+            CLOCK.setAlarms(getAlarms());
+        } finally {
+            loading = false;
+        }
+        return noOfMissedAlarms;
+    }
+
+    /**
+     * Stops removing triggered alarms of the given clock from the store.
+     * @param CLOCK
+     */
+    public synchronized void unloadFrom(final Clock CLOCK) {
+        if (clocks.remove(CLOCK)) { CLOCK.getAlarms().removeListener(clockAlarmsChanged); }
+    }
+
+    @Override public synchronized void close() throws IOException {
+        if (closed) return;
+        for (Clock clock : clocks) { clock.getAlarms().removeListener(clockAlarmsChanged); }
+        clocks.clear();
+        for (Alarm alarm : alarms.values()) { alarm.removeChangeListener(alarmChanged); }
+        try {
+            writePending();
+            journal.force(true);
+        } finally {
+            closed = true;
+            journal.close();
+            writer.shutdownNow();
+        }
+    }
+
+    private void putAlarm(final String ID, final Alarm ALARM) {
+        final Alarm OLD_ALARM = alarms.put(ID, ALARM);
+        if (null != OLD_ALARM && OLD_ALARM != ALARM) {
+            ids.remove(OLD_ALARM);
+            OLD_ALARM.removeChangeListener(alarmChanged);
+        }
+        ids.put(ALARM, ID);
+        ALARM.addChangeListener(alarmChanged);
+    }
+
+    private synchronized void onAlarmChanged(final Alarm ALARM) {
+        final String ID = ids.get(ALARM);
+        if (null == ID || closed) return;
+        try {
+            if (isStorable(ALARM)) {
+                pending.put(ID, encodePut(ID, ALARM));
+            } else {
+                // The rule has already been set, so the alarm can only be dropped from the store
+                detach(ID);
+            }
+            scheduleFlush();
+        } catch (IOException e) {
+            fireError(e);
+        }
+    }
+
+    private synchronized void onClockAlarmsChanged(final ListChangeListener.Change<? extends Alarm> CHANGE) {
+        if (closed || loading) return;
+        Clock clock = null;
+        for (Clock c : clocks) { if (c.getAlarms() == CHANGE.getList()) { clock = c; } }
+        if (null == clock) return;
+        final ZonedDateTime NOW = clock.getTime();
+        try {
+            while (CHANGE.next()) {
+                if (!CHANGE.wasRemoved()) continue;
+                for (Alarm alarm : CHANGE.getRemoved()) {
+                    if (Repetition.ONCE != alarm.getRepetition() || alarm.getTime().isAfter(NOW)) continue;
+                    final String ID = ids.get(alarm);
+                    if (null == ID) continue;
+                    detach(ID);
+                    scheduleFlush();
+                }
+            }
+        } catch (IOException e) {
+            fireError(e);
+        }
+    }
+
+    /**
+     * Removes the alarm with the given id from the store and collects
+     * the removal for the next flush of the background thread.
+     */
+    private void detach(final String ID) throws IOException {
+        final Alarm ALARM = alarms.remove(ID);
+        if (null == ALARM) return;
+        ids.remove(ALARM);
+        ALARM.removeChangeListener(alarmChanged);
+        pending.put(ID, encodeRemove(ID));
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        writer.schedule(() -> flushPending(), FLUSH_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Called by the background thread. The journal will be forced outside
+     * of the lock so that listeners on the JavaFX application thread don't
+     * have to wait for the disk.
+     */
+    private void flushPending() {
+        try {
+            synchronized (this) {
+                flushScheduled = false;
+                if (closed || !writePending()) return;
+                snapshotIfNeeded();
+            }
+            journal.force(false);
+        } catch (ClosedChannelException e) {
+            // The store has been closed in the meantime which already forced the journal
+        } catch (IOException e) {
+            fireError(e);
+        }
+    }
+
+    /**
+     * Appends all collected records with one write.
+     * @return false if there was nothing to write
+     */
+    private boolean writePending() throws IOException {
+        if (pending.isEmpty()) return false;
+        final ByteArrayOutputStream BYTES = new ByteArrayOutputStream();
+        for (byte[] record : pending.values()) { BYTES.write(record); }
+        append(BYTES.toByteArray(), pending.size());
+        pending.clear();
+        return true;
+    }
+
+    private synchronized void fireError(final IOException EXCEPTION) {
+        if (null != onError) { onError.accept(EXCEPTION); }
+    }
+
+    private void snapshotIfNeeded() throws IOException {
+        if (snapshotThreshold > 0 && noOfJournalEntries >= snapshotThreshold) { snapshot(); }
+    }
+
+    private void append(final byte[] RECORD) throws IOException { append(RECORD, 1); }
+    private void append(final byte[] RECORDS, final int NO_OF_RECORDS) throws IOException {
+        if (closed) { throw new IOException("AlarmStore is closed"); }
+        write(journal, RECORDS);
+        noOfJournalEntries += NO_OF_RECORDS;
+    }
+
+    private static void write(final FileChannel CHANNEL, final byte[] BYTES) throws IOException {
+        final ByteBuffer BUFFER = ByteBuffer.wrap(BYTES);
+        while (BUFFER.hasRemaining()) { CHANNEL.write(BUFFER); }
+    }
+
+    private static void writeHeader(final FileChannel CHANNEL) throws IOException {
+        final ByteBuffer BUFFER = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        BUFFER.flip();
+        while (BUFFER.hasRemaining()) { CHANNEL.write(BUFFER); }
+    }
+
+    private static void checkRule(final Alarm ALARM) {
+        if (!isStorable(ALARM)) { throw new IllegalArgumentException("Only alarms with a CronExpression as rule can be stored"); }
+    }
+
+    private static boolean isStorable(final Alarm ALARM) { return null == ALARM.getRule() || ALARM.getRule() instanceof CronExpression; }
+
+    private static byte[] encodePut(final String ID, final Alarm ALARM) throws IOException {
+        final ByteArrayOutputStream BYTES = new ByteArrayOutputStream(128);
+        final DataOutputStream      OUT   = new DataOutputStream(BYTES);
+        final ZonedDateTime         TIME  = ALARM.getTime();
+        final Color                 COLOR = null == ALARM.getColor() ? Clock.DARK_COLOR : ALARM.getColor();
+        OUT.writeByte(PUT);
+        OUT.writeUTF(ID);
+        OUT.writeUTF(ALARM.getRepetition().name());
+        OUT.writeLong(TIME.toEpochSecond());
+        OUT.writeInt(TIME.getNano());
+        OUT.writeUTF(TIME.getZone().getId());
+        OUT.writeBoolean(ALARM.isArmed());
+        OUT.writeUTF(null == ALARM.getText() ? "" : ALARM.getText());
+        OUT.writeDouble(COLOR.getRed());
+        OUT.writeDouble(COLOR.getGreen());
+        OUT.writeDouble(COLOR.getBlue());
+        OUT.writeDouble(COLOR.getOpacity());
+        OUT.writeUTF(null == ALARM.getRule() ? "" : ((CronExpression) ALARM.getRule()).getExpression());
+        OUT.writeUTF(ALARM.getMissedFirePolicy().name());
+        return frame(BYTES.toByteArray());
+    }
+
+    private static byte[] encodeRemove(final String ID) throws IOException {
+        final ByteArrayOutputStream BYTES = new ByteArrayOutputStream(32);
+        final DataOutputStream      OUT   = new DataOutputStream(BYTES);
+        OUT.writeByte(REMOVE);
+        OUT.writeUTF(ID);
+        return frame(BYTES.toByteArray());
+    }
+
+    /**
+     * Each record consists of its length, the payload and the CRC32 of the
+     * payload which allows to detect incomplete records.
+     */
+    private static byte[] frame(final byte[] PAYLOAD) {
+        final CRC32 CRC = new CRC32();
+        CRC.update(PAYLOAD, 0, PAYLOAD.length);
+        return ByteBuffer.allocate(PAYLOAD.length + 8).putInt(PAYLOAD.length).put(PAYLOAD).putInt((int) CRC.getValue()).array();
+    }
+
+    /**
+     * Applies all valid records of the given file and returns the size
+     * of the file up to the end of the last valid record.
+     */
+    private long read(final Path FILE) throws IOException {
+        try (InputStream STREAM = new BufferedInputStream(Files.newInputStream(FILE)); DataInputStream IN = new DataInputStream(STREAM)) {
+            try {
+                if (IN.readInt() != MAGIC) { throw new IOException("Not an alarm store file: " + FILE); }
+                if (IN.readInt() != VERSION) { throw new IOException("Unsupported alarm store version: " + FILE); }
+            } catch (EOFException e) {
+                return 0;
+            }
+            long  validSize = HEADER_SIZE;
+            CRC32 crc       = new CRC32();
+            while (true) {
+                final byte[] PAYLOAD;
+                try {
+                    final int LENGTH = IN.readInt();
+                    if (LENGTH <= 0 || LENGTH > 1 << 20) break;
+                    PAYLOAD = new byte[LENGTH];
+                    IN.readFully(PAYLOAD);
+                    crc.reset();
+                    crc.update(PAYLOAD, 0, LENGTH);
+                    if (IN.readInt() != (int) crc.getValue()) break;
+                } catch (EOFException e) {
+                    break;
+                }
+                apply(PAYLOAD);
+                validSize += PAYLOAD.length + 8;
+            }
+            return validSize;
+        }
+    }
+
+    private void apply(final byte[] PAYLOAD) throws IOException {
+        final DataInputStream IN        = new DataInputStream(new ByteArrayInputStream(PAYLOAD));
+        final byte            OPERATION = IN.readByte();
+        final String          ID        = IN.readUTF();
+        if (REMOVE == OPERATION) {
+            ids.remove(alarms.remove(ID));
+            return;
+        }
+        final Repetition    REPETITION = Repetition.valueOf(IN.readUTF());
+        final long          SECONDS    = IN.readLong();
+        final int           NANOS      = IN.readInt();
+        final ZoneId        ZONE       = ZoneId.of(IN.readUTF());
+        final boolean       ARMED      = IN.readBoolean();
+        final String        TEXT       = IN.readUTF();
+        final Color         COLOR      = Color.color(IN.readDouble(), IN.readDouble(), IN.readDouble(), IN.readDouble());
+        final String        RULE       = IN.readUTF();
+        final ZonedDateTime TIME       = ZonedDateTime.ofInstant(Instant.ofEpochSecond(SECONDS, NANOS), ZONE);
+        Alarm alarm = alarms.get(ID);
+        if (null == alarm) {
+            alarm = new Alarm(REPETITION, TIME, ARMED, TEXT, null, COLOR);
+            alarms.put(ID, alarm);
+            ids.put(alarm, ID);
+        } else {
+            alarm.setRepetition(REPETITION);
+            alarm.setTime(TIME);
+            alarm.setArmed(ARMED);
+            alarm.setText(TEXT);
+            alarm.setColor(COLOR);
+        }
+        alarm.setRule(RULE.isEmpty() ? null : new CronExpression(RULE));
+        alarm.setNextTime(TIME);
+        alarm.setMissedFirePolicy(MissedFirePolicy.valueOf(IN.readUTF()));
+    }
+}
@@ -16,6 +16,8 @@
 
 package eu.hansolo.medusa;
 
+import eu.hansolo.medusa.Alarm.MissedFirePolicy;
+import eu.hansolo.medusa.Alarm.Repetition;
 import eu.hansolo.medusa.events.AlarmEvent;
 import eu.hansolo.medusa.events.AlarmEventListener;
 import eu.hansolo.medusa.events.TimeEvent;
@@ -25,14 +27,15 @@ import eu.hansolo.medusa.events.UpdateEvent;
 import eu.hansolo.medusa.events.UpdateEvent.EventType;
 import eu.hansolo.medusa.events.UpdateEventListener;
 import eu.hansolo.medusa.skins.*;
+import eu.hansolo.medusa.tools.AnimationEngine;
+import eu.hansolo.medusa.tools.CommandExecutor;
 import eu.hansolo.medusa.tools.Helper;
+import eu.hansolo.medusa.tools.RefreshScheduler;
 import eu.hansolo.medusa.tools.TimeSectionComparator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.application.Platform;
+import eu.hansolo.medusa.tools.VisibilityTracker;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
@@ -40,18 +43,14 @@ import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.time.LocalTime;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 
@@ -63,6 +62,7 @@ public class Clock extends Control {
 
     public  static final int                  SHORT_INTERVAL   = 20;
     public  static final int                  LONG_INTERVAL    = 1000;
+    private static final long                 TIME_SOURCE_SYNC = TimeUnit.SECONDS.toNanos(60);
     public  static final Color                DARK_COLOR       = Color.rgb(36, 36, 36);
     public  static final Color                BRIGHT_COLOR     = Color.rgb(223, 223, 223);
     private        final UpdateEvent          REDRAW_EVENT     = new UpdateEvent(Clock.this, EventType.REDRAW);
@@ -72,9 +72,6 @@ public class Clock extends Control {
     private        final UpdateEvent          SECTION_EVENT    = new UpdateEvent(Clock.this, UpdateEvent.EventType.SECTION);
     private        final UpdateEvent          FINISHED_EVENT   = new UpdateEvent(Clock.this, UpdateEvent.EventType.FINISHED);
 
-    private volatile ScheduledFuture<?>       periodicTickTask;
-    private static   ScheduledExecutorService periodicTickExecutorService;
-
     // Alarm events
     private List<UpdateEventListener>         listenerList          = new CopyOnWriteArrayList<>();
     private List<AlarmEventListener>          alarmListenerList     = new CopyOnWriteArrayList<>();
@@ -82,8 +79,17 @@ public class Clock extends Control {
 
     private ObjectProperty<ZonedDateTime>     time;
     private LongProperty                      currentTime;
-    private Timeline                          timeline;
+    private int                               animationSlot;
+    private AnimationEngine.Target            animationTarget;
     private int                               updateInterval;
+    private VisibilityTracker                 visibilityTracker;
+    private boolean                           suspended;
+    private boolean                           tickSuspended;
+    private long                              tickSuspendedAt;
+    private java.time.Clock                   timeSource;
+    private long                              timeSourceMillis;
+    private long                              timeSourceNanos;
+    private long                              epochMillis;
     private ClockSkinType                     skinType;
     private String                            _title;
     private StringProperty                    title;
@@ -123,6 +129,10 @@ public class Clock extends Control {
     private BooleanProperty                   running;
     private boolean                           _autoNightMode;
     private BooleanProperty                   autoNightMode;
+    private boolean                           _suspendWhenHidden;
+    private BooleanProperty                   suspendWhenHidden;
+    private double                            _maxRefreshRate;
+    private DoubleProperty                    maxRefreshRate;
     private Paint                             _backgroundPaint;
     private ObjectProperty<Paint>             backgroundPaint;
     private Paint                             _borderPaint;
@@ -166,7 +176,10 @@ public class Clock extends Control {
     private boolean                           _alarmsVisible;
     private BooleanProperty                   alarmsVisible;
     private ObservableList<Alarm>             alarms;
-    private List<Alarm>                       alarmsToRemove;
+    private AlarmScheduler                    alarmScheduler;
+    private TimeSectionIndex                  sectionIndex;
+    private TimeSectionIndex                  areaIndex;
+    private CommandExecutor                   commandExecutor;
     private boolean                           _lcdCrystalEnabled;
     private BooleanProperty                   lcdCrystalEnabled;
     private boolean                           _shadowsEnabled;
@@ -205,16 +218,14 @@ public class Clock extends Control {
     private void init(final ZonedDateTime TIME) {
         time                    = new ObjectPropertyBase<ZonedDateTime>(TIME) {
             @Override protected void invalidated() {
-                if (!isRunning() && isAnimated()) {
+                if (!isRunning() && isAnimated() && !suspended) {
                     long animationDuration = getAnimationDuration();
-                    timeline.stop();
-                    final KeyValue KEY_VALUE = new KeyValue(currentTime, TIME.toEpochSecond());
-                    final KeyFrame KEY_FRAME = new KeyFrame(javafx.util.Duration.millis(animationDuration), KEY_VALUE);
-                    timeline.getKeyFrames().setAll(KEY_FRAME);
-                    timeline.setOnFinished(e -> fireUpdateEvent(FINISHED_EVENT));
-                    timeline.play();
+                    final double MAX_REFRESH_RATE = getMaxRefreshRate();
+                    final long   FRAME_INTERVAL   = MAX_REFRESH_RATE > 0 ? RefreshScheduler.getInterval(MAX_REFRESH_RATE) : 0;
+                    animationSlot = AnimationEngine.animate(animationSlot, animationTarget, currentTime.get(), get().toEpochSecond(), TimeUnit.MILLISECONDS.toNanos(animationDuration), FRAME_INTERVAL);
                 } else {
-                    currentTime.set(TIME.toEpochSecond());
+                    AnimationEngine.stop(animationSlot, animationTarget);
+                    currentTime.set(get().toEpochSecond());
                     fireUpdateEvent(FINISHED_EVENT);
                 }
             }
@@ -226,8 +237,11 @@ public class Clock extends Control {
             @Override public Object getBean() { return Clock.this; }
             @Override public String getName() { return "currentTime"; }
         };
-        timeline                = new Timeline();
-        timeline.setOnFinished(e -> fireUpdateEvent(FINISHED_EVENT));
+        animationSlot           = -1;
+        animationTarget         = new AnimationEngine.Target() {
+            @Override public void update(final double VALUE) { currentTime.set(Math.round(VALUE)); }
+            @Override public void finished() { fireUpdateEvent(FINISHED_EVENT); }
+        };
         updateInterval          = LONG_INTERVAL;
         _checkSectionsForValue  = false;
         _checkAreasForValue     = false;
@@ -248,6 +262,8 @@ public class Clock extends Control {
         _nightMode              = false;
         _running                = false;
         _autoNightMode          = false;
+        _suspendWhenHidden      = false;
+        _maxRefreshRate         = 0;
         _backgroundPaint        = Color.TRANSPARENT;
         _borderPaint            = Color.TRANSPARENT;
         _borderWidth            = 1;
@@ -270,7 +286,10 @@ public class Clock extends Control {
         _alarmsEnabled          = false;
         _alarmsVisible          = false;
         alarms                  = FXCollections.observableArrayList();
-        alarmsToRemove          = new ArrayList<>();
+        alarmScheduler          = new AlarmScheduler(Clock.this);
+        sectionIndex            = new TimeSectionIndex(sections);
+        areaIndex               = new TimeSectionIndex(areas);
+        commandExecutor         = CommandExecutor.getDefault();
         _lcdCrystalEnabled      = false;
         _shadowsEnabled         = false;
         _lcdFont                = LcdFont.DIGITAL_BOLD;
@@ -280,7 +299,15 @@ public class Clock extends Control {
         animationDuration       = 10000;
     }
 
-    private void registerListeners() { disabledProperty().addListener(o -> setOpacity(isDisabled() ? 0.4 : 1)); }
+    private void registerListeners() {
+        disabledProperty().addListener(o -> setOpacity(isDisabled() ? 0.4 : 1));
+        alarms.addListener((ListChangeListener<Alarm>) c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) { c.getRemoved().forEach(alarm -> alarmScheduler.remove(alarm)); }
+                if (c.wasAdded())   { c.getAddedSubList().forEach(alarm -> alarmScheduler.add(alarm)); }
+            }
+        });
+    }
 
 
     // ******************** Methods *******************************************
@@ -296,6 +323,41 @@ public class Clock extends Control {
     public void setTime(ZonedDateTime TIME) { time.set(TIME); }
     public ObjectProperty<ZonedDateTime> timeProperty() { return time; }
 
+    /**
+     * Returns the current time of the clock in epoch milliseconds.
+     * @return the current time of the clock in epoch milliseconds
+     */
+    public long getTimeMillis() {
+        if (null != timeSource) return epochMillis;
+        final ZonedDateTime TIME = getTime();
+        return TIME.toEpochSecond() * 1000 + TIME.getNano() / 1_000_000;
+    }
+
+    /**
+     * Returns the source the running clock derives its time from or null
+     * if the clock simply adds the elapsed time to its current time (default).
+     * @return the source the running clock derives its time from
+     */
+    public java.time.Clock getTimeSource() { return timeSource; }
+    /**
+     * Defines the source the running clock derives its time from. If set, each
+     * tick computes the time from the instant the source returned at the last
+     * synchronization plus the time measured by System.nanoTime() since then.
+     * This means delayed ticks will not lead to drift. The source will be read
+     * again every 60 seconds to follow corrections of the source (e.g. NTP).
+     * Small backward corrections will be swallowed to keep the hands moving
+     * forward. The zone of the current time will be kept.
+     * Setting the source to null switches back to adding the elapsed time.
+     * @param SOURCE
+     */
+    public void setTimeSource(final java.time.Clock SOURCE) {
+        timeSource = SOURCE;
+        if (null == SOURCE) return;
+        syncTimeSource(System.nanoTime());
+        epochMillis = timeSourceMillis;
+        setTime(ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), getTime().getZone()));
+    }
+
     /**
      * Returns the current time in epoch seconds
      * @return the current time in epoch seconds
@@ -675,7 +737,7 @@ public class Clock extends Control {
     public void setDiscreteSeconds(boolean DISCRETE) {
         if (null == discreteSeconds) {
             _discreteSeconds = DISCRETE;
-            stopTask(periodicTickTask);
+            stopTicking();
             if (isAnimated()) return;
             scheduleTickTask();
         } else {
@@ -686,7 +748,7 @@ public class Clock extends Control {
         if (null == discreteSeconds) {
             discreteSeconds = new BooleanPropertyBase() {
                 @Override protected void invalidated() {
-                    stopTask(periodicTickTask);
+                    stopTicking();
                     if (isAnimated()) return;
                     scheduleTickTask();
                 }
@@ -713,7 +775,7 @@ public class Clock extends Control {
     public void setDiscreteMinutes(boolean DISCRETE) {
         if (null == discreteMinutes) {
             _discreteMinutes = DISCRETE;
-            stopTask(periodicTickTask);
+            stopTicking();
             if (isAnimated()) return;
             scheduleTickTask();
         } else {
@@ -724,7 +786,7 @@ public class Clock extends Control {
         if (null == discreteMinutes) {
             discreteMinutes = new BooleanPropertyBase() {
                 @Override protected void invalidated() {
-                    stopTask(periodicTickTask);
+                    stopTicking();
                     if (isAnimated()) return;
                     scheduleTickTask();
                 }
@@ -917,15 +979,15 @@ public class Clock extends Control {
     public void setRunning(boolean RUNNING) { 
         if (null == running) {
             _running = RUNNING;
-            if (RUNNING && !isAnimated()) { scheduleTickTask(); } else { stopTask(periodicTickTask); }
+            if (RUNNING && !isAnimated()) { scheduleTickTask(); } else { stopTicking(); }
         } else {
             running.set(RUNNING);
         }
     }
     public BooleanProperty runningProperty() { 
-        if (null == running) { new BooleanPropertyBase(_running) {
+        if (null == running) { running = new BooleanPropertyBase(_running) {
             @Override protected void invalidated() {
-                if (get() && !isAnimated()) { scheduleTickTask(); } else { stopTask(periodicTickTask); }
+                if (get() && !isAnimated()) { scheduleTickTask(); } else { stopTicking(); }
             }
             @Override public Object getBean() { return Clock.this; }
             @Override public String getName() { return "running"; }
@@ -1793,72 +1855,199 @@ public class Clock extends Control {
     public void setAnimationDuration(final long ANIMATION_DURATION) { animationDuration = Helper.clamp(10l, 20000l, ANIMATION_DURATION); }
 
     /**
-     * Calling this method will check the current time against all Alarm
-     * objects in alarms. The Alarm object will fire events in case the
-     * time is after the alarm time.
+     * Calling this method will trigger all Alarm objects in alarms which
+     * time is at or before the given time. Because the alarms are ordered
+     * by their next time only the next alarm has to be compared with the
+     * given time. Occurrences that have been missed because the clock did
+     * not tick at their time will be handled by the MissedFirePolicy of the
+     * alarm where FIRE_ALL catches up at most Alarm.MAX_MISSED_FIRES
+     * occurrences per call. Alarms with repetition ONCE will be removed after they have
+     * been triggered, all others will be scheduled for their next time.
      * @param TIME
-     */
-    private void checkAlarms(final ZonedDateTime TIME) {
-        alarmsToRemove.clear();
-        for (Alarm alarm : alarms) {
-            final ZonedDateTime ALARM_TIME = alarm.getTime();
-            switch (alarm.getRepetition()) {
-                case ONCE:
-                    if (TIME.isAfter(ALARM_TIME)) {
-                        if (alarm.isArmed()) {
-                            fireAlarmEvent(new AlarmEvent(Clock.this, alarm));
-                            alarm.executeCommand();
-                        }
-                        alarmsToRemove.add(alarm);
-                    }
-                    break;
-                case HALF_HOURLY:
-                    if ((ALARM_TIME.getMinute() == TIME.getMinute() ||
-                        ALARM_TIME.plusMinutes(30).getMinute() == TIME.getMinute()) &&
-                        ALARM_TIME.getSecond() == TIME.getSecond()) {
-                        if (alarm.isArmed()) {
-                            fireAlarmEvent(new AlarmEvent(Clock.this, alarm));
-                            alarm.executeCommand();
-                        }
-                    }
-                    break;
-                case HOURLY:
-                    if (ALARM_TIME.getMinute() == TIME.getMinute() &&
-                        ALARM_TIME.getSecond() == TIME.getSecond()) {
-                        if (alarm.isArmed()) {
-                            fireAlarmEvent(new AlarmEvent(Clock.this, alarm));
-                            alarm.executeCommand();
-                        }
-                    }
-                    break;
-                case DAILY:
-                    if (ALARM_TIME.getHour()   == TIME.getHour() &&
-                        ALARM_TIME.getMinute() == TIME.getMinute() &&
-                        ALARM_TIME.getSecond() == TIME.getSecond()) {
-                        if (alarm.isArmed()) {
-                            fireAlarmEvent(new AlarmEvent(Clock.this, alarm));
-                            alarm.executeCommand();
-                        }
-                    }
-                    break;
-                case WEEKLY:
-                    if (ALARM_TIME.getDayOfWeek() == TIME.getDayOfWeek() &&
-                        ALARM_TIME.getHour()      == TIME.getHour() &&
-                        ALARM_TIME.getMinute()    == TIME.getMinute() &&
-                        ALARM_TIME.getSecond()    == TIME.getSecond()) {
-                        if (alarm.isArmed()) {
-                            fireAlarmEvent(new AlarmEvent(Clock.this, alarm));
-                            alarm.executeCommand();
-                        }
-                    }
-                    break;
+     * @param NOW epoch milliseconds of the given time
+     */
+    private void checkAlarms(final ZonedDateTime TIME, final long NOW) {
+        alarmScheduler.check(TIME, NOW);
+        int noOfMissedFires = 0;
+        while (alarmScheduler.isDue(NOW)) {
+            final Alarm            ALARM          = alarmScheduler.peek();
+            final long             SCHEDULED_TIME = alarmScheduler.getNextTime();
+            final boolean          MISSED         = NOW - SCHEDULED_TIME > LONG_INTERVAL;
+            final MissedFirePolicy POLICY         = ALARM.getMissedFirePolicy();
+            final boolean          FIRE           = ALARM.isArmed() && (!MISSED || MissedFirePolicy.SKIP != POLICY);
+            final ZonedDateTime    ALARM_TIME     = ZonedDateTime.ofInstant(Instant.ofEpochMilli(SCHEDULED_TIME), TIME.getZone());
+            if (Repetition.ONCE == ALARM.getRepetition()) {
+                alarmScheduler.remove(ALARM);
+                if (FIRE) {
+                    fireAlarmEvent(new AlarmEvent(Clock.this, ALARM, ALARM_TIME));
+                    executeCommand(ALARM);
+                }
+                removeAlarm(ALARM);
+            } else {
+                // FIRE_ALL continues with the occurrence after the missed one, all others with the next one after now
+                final boolean       CATCH_UP = MISSED && MissedFirePolicy.FIRE_ALL == POLICY && noOfMissedFires < Alarm.MAX_MISSED_FIRES;
+                final ZonedDateTime FROM     = CATCH_UP ? ALARM_TIME : TIME;
+                if (CATCH_UP) { noOfMissedFires++; }
+                alarmScheduler.reschedule(ALARM, FROM.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+                if (FIRE) {
+                    fireAlarmEvent(new AlarmEvent(Clock.this, ALARM, ALARM_TIME));
+                    executeCommand(ALARM);
+                }
             }
         }
-        for (Alarm alarm : alarmsToRemove) {
-            removeAlarm(alarm);
+    }
+
+    private void executeCommand(final Alarm ALARM) {
+        if (null == ALARM.getCommand()) return;
+        if (null == commandExecutor) {
+            ALARM.executeCommand();
+        } else {
+            // Replace the default executor if somebody shut it down
+            if (commandExecutor.isShutdown() && commandExecutor.isDefault()) { commandExecutor = CommandExecutor.getDefault(); }
+            commandExecutor.execute(Clock.this, ALARM.getCommand(), ALARM.getCommandTimeout());
+        }
+    }
+
+    /**
+     * Returns the executor that runs the commands of triggered alarms.
+     * @return the executor that runs the commands of triggered alarms
+     */
+    public CommandExecutor getCommandExecutor() { return commandExecutor; }
+    /**
+     * Defines the executor that runs the commands of triggered alarms.
+     * By default the shared CommandExecutor.getDefault() will be used which
+     * means commands will not be executed on the JavaFX application thread
+     * and have to use Platform.runLater() to modify the scene graph.
+     * The commands of one clock will be executed in the order the alarms
+     * have been triggered. Commands that don't fit into the queue of the
+     * executor or that are triggered after it has been shut down will be
+     * discarded and counted by the executor. If set to null the commands
+     * will be executed directly on the JavaFX application thread.
+     * @param EXECUTOR
+     */
+    public void setCommandExecutor(final CommandExecutor EXECUTOR) { commandExecutor = EXECUTOR; }
+
+    /**
+     * Returns true if the clock will be suspended while it is not showing.
+     * A clock is not showing if it is not attached to a scene in a showing
+     * window or if the clock or one of its parents is not visible (e.g.
+     * in a Tab that is not selected).
+     * A suspended clock does not animate and stops ticking if neither alarms,
+     * TimeEvent listeners, section/area checks nor the auto night mode
+     * depend on the time. When it is showing again the time will be
+     * updated once and the clock continues ticking.
+     * @return true if the clock will be suspended while it is not showing
+     */
+    public boolean isSuspendWhenHidden() { return null == suspendWhenHidden ? _suspendWhenHidden : suspendWhenHidden.get(); }
+    /**
+     * Defines if the clock will be suspended while it is not showing.
+     * @param SUSPEND
+     */
+    public void setSuspendWhenHidden(final boolean SUSPEND) {
+        if (null == suspendWhenHidden) {
+            _suspendWhenHidden = SUSPEND;
+            updateVisibilityTracker();
+        } else {
+            suspendWhenHidden.set(SUSPEND);
+        }
+    }
+    public BooleanProperty suspendWhenHiddenProperty() {
+        if (null == suspendWhenHidden) {
+            suspendWhenHidden = new BooleanPropertyBase(_suspendWhenHidden) {
+                @Override protected void invalidated() { updateVisibilityTracker(); }
+                @Override public Object getBean() { return Clock.this; }
+                @Override public String getName() { return "suspendWhenHidden"; }
+            };
+        }
+        return suspendWhenHidden;
+    }
+
+    /**
+     * Returns the max number of frames per second the clock will be
+     * redrawn with. A value of 0 (default) means no limit.
+     * A running clock with a limit ticks less often (e.g. a clock with
+     * 2 fps ticks every 500ms instead of every 20ms) and animations will
+     * be decimated to the given frame rate.
+     * @return the max number of frames per second or 0 for no limit
+     */
+    public double getMaxRefreshRate() { return null == maxRefreshRate ? _maxRefreshRate : maxRefreshRate.get(); }
+    /**
+     * Defines the max number of frames per second the clock will be
+     * redrawn with. A value of 0 means no limit, other values will be
+     * clamped in the range of 0.1 - 1000 fps.
+     * @param RATE
+     */
+    public void setMaxRefreshRate(final double RATE) {
+        if (null == maxRefreshRate) {
+            _maxRefreshRate = RATE <= 0 ? 0 : Helper.clamp(0.1, 1000.0, RATE);
+            if (isRunning() && !isAnimated()) { scheduleTickTask(); }
+        } else {
+            maxRefreshRate.set(RATE);
+        }
+    }
+    public DoubleProperty maxRefreshRateProperty() {
+        if (null == maxRefreshRate) {
+            maxRefreshRate = new DoublePropertyBase(_maxRefreshRate) {
+                @Override protected void invalidated() {
+                    set(get() <= 0 ? 0 : Helper.clamp(0.1, 1000.0, get()));
+                    if (isRunning() && !isAnimated()) { scheduleTickTask(); }
+                }
+                @Override public Object getBean() { return Clock.this; }
+                @Override public String getName() { return "maxRefreshRate"; }
+            };
+        }
+        return maxRefreshRate;
+    }
+
+    /**
+     * Returns true if the clock is suspended because it is not showing.
+     * @return true if the clock is suspended
+     */
+    public boolean isSuspended() { return suspended; }
+
+    private void updateVisibilityTracker() {
+        if (isSuspendWhenHidden()) {
+            if (null != visibilityTracker) return;
+            visibilityTracker = new VisibilityTracker(Clock.this);
+            visibilityTracker.showingProperty().addListener(o -> setSuspended(!visibilityTracker.isShowing()));
+            setSuspended(!visibilityTracker.isShowing());
+        } else {
+            if (null == visibilityTracker) return;
+            visibilityTracker.dispose();
+            visibilityTracker = null;
+            setSuspended(false);
+        }
+    }
+
+    private void setSuspended(final boolean SUSPENDED) {
+        if (SUSPENDED == suspended) return;
+        suspended = SUSPENDED;
+        if (SUSPENDED) {
+            if (AnimationEngine.isRunning(animationSlot, animationTarget)) {
+                AnimationEngine.stop(animationSlot, animationTarget);
+                currentTime.set(getTime().toEpochSecond());
+            }
+            if (isRunning() && !isAnimated() && !isTimeObserved()) {
+                tickSuspended   = true;
+                tickSuspendedAt = System.nanoTime();
+                stopTicking();
+            }
+        } else if (tickSuspended) {
+            // One catch up update for the time the clock was not ticking
+            tickSuspended = false;
+            if (null == timeSource) {
+                setTime(getTime().plus(Duration.ofNanos(System.nanoTime() - tickSuspendedAt)));
+            } else {
+                updateFromTimeSource();
+            }
+            if (isRunning() && !isAnimated()) { scheduleTickTask(); }
         }
     }
 
+    private boolean isTimeObserved() {
+        return isAlarmsEnabled() || isAutoNightMode() || getCheckSectionsForValue() || getCheckAreasForValue() || !timeEventListenerList.isEmpty();
+    }
+
     /**
      * Calling this method will check for the current time of the day and
      * switches on/off the night mode.
@@ -1877,66 +2066,76 @@ public class Clock extends Control {
         }
     }
 
-    private void tick() { Platform.runLater(() -> {
+    /**
+     * Will be called by the ClockTickScheduler on the JavaFX application
+     * thread with the time in milliseconds that passed since the last tick.
+     * @param ELAPSED_MILLIS
+     */
+    void tick(final long ELAPSED_MILLIS) {
         if (isAnimated()) return;
         ZonedDateTime oldTime = getTime();
-        setTime(getTime().plus(Duration.ofMillis(updateInterval)));
+        if (null == timeSource) {
+            setTime(getTime().plus(Duration.ofMillis(ELAPSED_MILLIS)));
+        } else if (!updateFromTimeSource()) {
+            return;
+        }
         ZonedDateTime now = time.get();
-        if (isAlarmsEnabled()) checkAlarms(now);
+        final long NOW_MILLIS = now.toEpochSecond() * 1000 + now.getNano() / 1_000_000;
+        if (isAlarmsEnabled()) { checkAlarms(now, NOW_MILLIS); } else { alarmScheduler.invalidate(); }
         if (isAutoNightMode()) checkForNight(now);
-        if (getCheckSectionsForValue()) {
-            int listSize = sections.size();
-            for (int i = 0 ; i < listSize ; i++) { sections.get(i).checkForValue(LocalTime.from(now)); }
-        }
-        if (getCheckAreasForValue()) {
-            int listSize = areas.size();
-            for (int i = 0 ; i < listSize ; i++) { areas.get(i).checkForValue(LocalTime.from(now)); }
-        }
+        if (getCheckSectionsForValue()) { sectionIndex.check(now, NOW_MILLIS); } else { sectionIndex.invalidate(); }
+        if (getCheckAreasForValue())    { areaIndex.check(now, NOW_MILLIS); } else { areaIndex.invalidate(); }
 
         if (timeEventListenerList.isEmpty()) return;
         // Fire TimeEvents
         if (oldTime.getSecond() != now.getSecond()) fireTimeEvent(new TimeEvent(Clock.this, now, TimeEventType.SECOND));
         if (oldTime.getMinute() != now.getMinute()) fireTimeEvent(new TimeEvent(Clock.this, now, TimeEventType.MINUTE));
         if (oldTime.getHour() != now.getHour()) fireTimeEvent(new TimeEvent(Clock.this, now, TimeEventType.HOUR));
-    }); }
+    }
 
 
-    // ******************** Scheduled tasks ***********************************
-    private synchronized static void enableTickExecutorService() {
-        if (null == periodicTickExecutorService) {
-            periodicTickExecutorService = new ScheduledThreadPoolExecutor(1, getThreadFactory("ClockTick", false));
-        }
+    private void syncTimeSource(final long NANO_TIME) {
+        timeSourceMillis = timeSource.millis();
+        timeSourceNanos  = NANO_TIME;
     }
-    private synchronized void scheduleTickTask() {
-        enableTickExecutorService();
-        stopTask(periodicTickTask);
 
-        updateInterval = (isDiscreteMinutes() && isDiscreteSeconds()) ? LONG_INTERVAL : SHORT_INTERVAL;
-        periodicTickTask = periodicTickExecutorService.scheduleAtFixedRate(() -> tick(), 0, updateInterval, TimeUnit.MILLISECONDS);
+    /**
+     * Sets the time to the last instant of the time source plus the
+     * monotonic time that passed since then.
+     * @return true if the time has changed
+     */
+    private boolean updateFromTimeSource() {
+        final long NOW = System.nanoTime();
+        if (NOW - timeSourceNanos >= TIME_SOURCE_SYNC) { syncTimeSource(NOW); }
+        long millis = timeSourceMillis + (NOW - timeSourceNanos) / 1_000_000L;
+        if (millis < epochMillis && epochMillis - millis < LONG_INTERVAL) { millis = epochMillis; }
+        if (millis == epochMillis) return false;
+        epochMillis = millis;
+        setTime(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), getTime().getZone()));
+        return true;
     }
 
-    private static ThreadFactory getThreadFactory(final String THREAD_NAME, final boolean IS_DAEMON) {
-        return runnable -> {
-            Thread thread = new Thread(runnable, THREAD_NAME);
-            thread.setDaemon(IS_DAEMON);
-            return thread;
-        };
+
+    // ******************** Scheduled tasks ***********************************
+    private synchronized void scheduleTickTask() {
+        if (tickSuspended) return;
+        updateInterval = (isDiscreteMinutes() && isDiscreteSeconds()) ? LONG_INTERVAL : SHORT_INTERVAL;
+        if (getMaxRefreshRate() > 0) { updateInterval = Math.max(updateInterval, (int) TimeUnit.NANOSECONDS.toMillis(RefreshScheduler.getInterval(getMaxRefreshRate()))); }
+        ClockTickScheduler.register(Clock.this, updateInterval);
     }
 
-    private void stopTask(ScheduledFuture<?> task) {
-        if (null == task) return;
-        task.cancel(true);
-        task = null;
+    private void stopTicking() {
+        ClockTickScheduler.unregister(Clock.this);
+        alarmScheduler.invalidate();
     }
 
     /**
-     * Calling this method will stop all threads. This is needed when using
-     * JavaFX on mobile devices when the device goes to sleep mode.
+     * Calling this method will stop the ticking of this clock. The thread
+     * that ticks the clocks will be stopped if no other clock is ticking.
+     * This is needed when using JavaFX on mobile devices when the device
+     * goes to sleep mode.
      */
-    public void stop() {
-        if (null != periodicTickTask) { stopTask(periodicTickTask); }
-        if (null != periodicTickExecutorService) { periodicTickExecutorService.shutdownNow(); }
-    }
+    public void stop() { stopTicking(); }
 
     private void createShutdownHook() { Runtime.getRuntime().addShutdownHook(new Thread(() -> stop())); }
 
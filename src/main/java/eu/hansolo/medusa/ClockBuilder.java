@@ -19,6 +19,7 @@ package eu.hansolo.medusa;
 import eu.hansolo.medusa.Clock.ClockSkinType;
 import eu.hansolo.medusa.events.AlarmEventListener;
 import eu.hansolo.medusa.events.TimeEventListener;
+import eu.hansolo.medusa.tools.CommandExecutor;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.LongProperty;
@@ -67,6 +68,11 @@ public class ClockBuilder <B extends ClockBuilder<B>> {
         return (B)this;
     }
 
+    public final B timeSource(final java.time.Clock SOURCE) {
+        properties.put("timeSource", new SimpleObjectProperty<>(SOURCE));
+        return (B)this;
+    }
+
     public final B title(final String TITLE) {
         properties.put("title", new SimpleStringProperty(TITLE));
         return (B)this;
@@ -172,6 +178,21 @@ public class ClockBuilder <B extends ClockBuilder<B>> {
         return (B)this;
     }
 
+    public final B suspendWhenHidden(final boolean SUSPEND) {
+        properties.put("suspendWhenHidden", new SimpleBooleanProperty(SUSPEND));
+        return (B)this;
+    }
+
+    public final B maxRefreshRate(final double RATE) {
+        properties.put("maxRefreshRate", new SimpleDoubleProperty(RATE));
+        return (B)this;
+    }
+
+    public final B commandExecutor(final CommandExecutor EXECUTOR) {
+        properties.put("commandExecutor", new SimpleObjectProperty<>(EXECUTOR));
+        return (B)this;
+    }
+
     public final B running(final boolean RUNNING) {
         properties.put("running", new SimpleBooleanProperty(RUNNING));
         return (B)this;
@@ -580,6 +601,12 @@ public class ClockBuilder <B extends ClockBuilder<B>> {
                 CONTROL.setNightMode(((BooleanProperty) properties.get(key)).get());
             } else if ("autoNightMode".equals(key)) {
                 CONTROL.setAutoNightMode(((BooleanProperty) properties.get(key)).get());
+            } else if ("suspendWhenHidden".equals(key)) {
+                CONTROL.setSuspendWhenHidden(((BooleanProperty) properties.get(key)).get());
+            } else if ("commandExecutor".equals(key)) {
+                CONTROL.setCommandExecutor(((ObjectProperty<CommandExecutor>) properties.get(key)).get());
+            } else if ("maxRefreshRate".equals(key)) {
+                CONTROL.setMaxRefreshRate(((DoubleProperty) properties.get(key)).get());
             } else if ("backgroundPaint".equals(key)) {
                 CONTROL.setBackgroundPaint(((ObjectProperty<Paint>) properties.get(key)).get());
             } else if ("borderPaint".equals(key)) {
@@ -642,6 +669,10 @@ public class ClockBuilder <B extends ClockBuilder<B>> {
                 CONTROL.setRunning(((BooleanProperty) properties.get(key)).get());
             }
         }
+        // The time source has to be applied after the time
+        if (properties.keySet().contains("timeSource")) {
+            CONTROL.setTimeSource(((ObjectProperty<java.time.Clock>) properties.get("timeSource")).get());
+        }
         return CONTROL;
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa;
+
+import eu.hansolo.medusa.tools.SharedScheduledExecutor;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ *
+ * Ticks all running clocks with one scheduled task and one runnable on the
+ * JavaFX application thread per update interval instead of one task and
+ * one runnable per clock. If the JavaFX application thread can not keep up
+ * the ticks will be coalesced and the clocks will be advanced by the
+ * number of missed ticks in one go.
+ */
+class ClockTickScheduler {
+    private static final List<Group>             GROUPS   = new ArrayList<>();
+    private static final SharedScheduledExecutor EXECUTOR = SharedScheduledExecutor.get(SharedScheduledExecutor.CLOCK_TICK);
+
+
+    // ******************** Constructors **************************************
+    private ClockTickScheduler() {}
+
+
+    // ******************** Methods *******************************************
+    static synchronized void register(final Clock CLOCK, final int INTERVAL) {
+        Group group = null;
+        for (Group g : GROUPS) {
+            if (g.interval == INTERVAL) {
+                group = g;
+            } else {
+                g.clocks.remove(CLOCK);
+            }
+        }
+        removeEmptyGroups();
+        final ScheduledExecutorService EXECUTOR_SERVICE = EXECUTOR.acquire(CLOCK);
+        if (null == group) {
+            group = new Group(INTERVAL);
+            GROUPS.add(group);
+            final Group GROUP = group;
+            group.future = EXECUTOR_SERVICE.scheduleAtFixedRate(() -> {
+                if (0 == GROUP.pendingTicks.getAndIncrement()) { Platform.runLater(GROUP.fxTask); }
+            }, 0, INTERVAL, TimeUnit.MILLISECONDS);
+        }
+        if (!group.clocks.contains(CLOCK)) { group.clocks.add(CLOCK); }
+    }
+
+    static synchronized void unregister(final Clock CLOCK) {
+        for (Group group : GROUPS) { group.clocks.remove(CLOCK); }
+        removeEmptyGroups();
+        // The shared thread will be stopped if no clock is ticking
+        EXECUTOR.release(CLOCK);
+    }
+
+    static synchronized boolean isRegistered(final Clock CLOCK) {
+        for (Group group : GROUPS) { if (group.clocks.contains(CLOCK)) return true; }
+        return false;
+    }
+
+    private static void removeEmptyGroups() {
+        GROUPS.removeIf(group -> {
+            if (!group.clocks.isEmpty()) return false;
+            group.future.cancel(false);
+            return true;
+        });
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Group {
+        private final int                interval;
+        private final List<Clock>        clocks;
+        private final AtomicInteger      pendingTicks;
+        private final Runnable           fxTask;
+        private       ScheduledFuture<?> future;
+
+        Group(final int INTERVAL) {
+            interval     = INTERVAL;
+            clocks       = new CopyOnWriteArrayList<>();
+            pendingTicks = new AtomicInteger(0);
+            fxTask       = () -> {
+                final long ELAPSED = (long) pendingTicks.getAndSet(0) * interval;
+                for (Clock clock : clocks) { clock.tick(ELAPSED); }
+            };
+        }
+    }
+}
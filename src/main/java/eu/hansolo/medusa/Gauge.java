@@ -19,14 +19,20 @@ package eu.hansolo.medusa;
 import eu.hansolo.medusa.events.UpdateEvent;
 import eu.hansolo.medusa.events.UpdateEventListener;
 import eu.hansolo.medusa.skins.*;
+import eu.hansolo.medusa.tools.AnimationEngine;
+import eu.hansolo.medusa.tools.Downsampler;
 import eu.hansolo.medusa.tools.GradientLookup;
 import eu.hansolo.medusa.tools.Helper;
 import eu.hansolo.medusa.tools.MarkerComparator;
+import eu.hansolo.medusa.tools.MovingExtremes;
+import eu.hansolo.medusa.tools.PulseDispatcher;
+import eu.hansolo.medusa.tools.QuantileSketch;
+import eu.hansolo.medusa.tools.RefreshScheduler;
 import eu.hansolo.medusa.tools.SectionComparator;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import eu.hansolo.medusa.tools.SharedScheduledExecutor;
+import eu.hansolo.medusa.tools.ValueFilter;
+import eu.hansolo.medusa.tools.ValueHistory;
+import eu.hansolo.medusa.tools.VisibilityTracker;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -41,11 +47,9 @@ import javafx.scene.control.Skin;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import javafx.scene.paint.Stop;
-import javafx.util.Duration;
 
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
-import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -53,9 +57,10 @@ import java.util.Locale;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -80,6 +85,10 @@ public class Gauge extends Control {
 
     public enum NeedleBehavior {STANDARD, OPTIMIZED}
 
+    public enum NeedleMotion {SPLINE, SPRING}
+
+    public enum UpdatePolicy {ANIMATE_ALWAYS, SNAP_WHEN_BUSY, COALESCE_TO_LAST, FIXED_HZ}
+
     public enum KnobType {STANDARD, PLAIN, METAL, FLAT}
 
     public enum LedType {STANDARD, FLAT}
@@ -96,6 +105,7 @@ public class Gauge extends Control {
     public static final  Color BRIGHT_COLOR       = Color.rgb(223, 223, 223);
     private static final long  LED_BLINK_INTERVAL = 500l;
     private static final int   MAX_NO_OF_DECIMALS = 3;
+    private static final double[] DECIMAL_FACTORS = { 1, 10, 100, 1000 };
 
     public final  ButtonEvent    BUTTON_PRESSED_EVENT  = new ButtonEvent(Gauge.this, null, ButtonEvent.BUTTON_PRESSED);
     public final  ButtonEvent    BUTTON_RELEASED_EVENT = new ButtonEvent(Gauge.this, null, ButtonEvent.BUTTON_RELEASED);
@@ -111,9 +121,11 @@ public class Gauge extends Control {
     private final UpdateEvent    FINISHED_EVENT        = new UpdateEvent(Gauge.this, UpdateEvent.EventType.FINISHED);
     private final UpdateEvent    SECTION_EVENT         = new UpdateEvent(Gauge.this, UpdateEvent.EventType.SECTION);
 
-    private static volatile Future blinkFuture;
-    private static ScheduledExecutorService blinkService = new ScheduledThreadPoolExecutor(1, Helper.getThreadFactory("BlinkTask", false));
-    private static volatile Callable<Void> blinkTask;
+    private static final SharedScheduledExecutor BLINK_EXECUTOR          = SharedScheduledExecutor.get(SharedScheduledExecutor.BLINK);
+    private static final SharedScheduledExecutor MEASURED_VALUE_EXECUTOR = SharedScheduledExecutor.get(SharedScheduledExecutor.MEASURED_VALUES);
+    private volatile     Future                  blinkFuture;
+    private              Callable<Void>          blinkTask;
+    private              boolean                 blinking;
 
     // Update events
     private List<UpdateEventListener> listenerList = new CopyOnWriteArrayList<>();
@@ -142,6 +154,13 @@ public class Gauge extends Control {
     private ObservableList<Section>              tickMarkSections;
     private ObservableList<Section>              tickLabelSections;
     private ObservableList<Marker>               markers;
+    private ValueHistory                         history;
+    private MovingExtremes                       measuredValueExtremes;
+    private ScheduledFuture<?>                   measuredValueEviction;
+    private Runnable                             evictMeasuredValues;
+    private QuantileSketch                       quantileSketch;
+    private List<ValueFilter>                    valueFilters;
+    private double                               filteredValue;
     // UI related
     private SkinType                             skinType;
     private boolean                              _startFromZero;
@@ -181,6 +200,14 @@ public class Gauge extends Control {
     private boolean                              _animated;
     private BooleanProperty                      animated;
     private long                                 animationDuration;
+    private UpdatePolicy                         _updatePolicy;
+    private ObjectProperty<UpdatePolicy>         updatePolicy;
+    private double                               _updateRate;
+    private DoubleProperty                       updateRate;
+    private double                               _maxRefreshRate;
+    private DoubleProperty                       maxRefreshRate;
+    private boolean                              _deadbandEnabled;
+    private BooleanProperty                      deadbandEnabled;
     private double                               _startAngle;
     private DoubleProperty                       startAngle;
     private double                               _angleRange;
@@ -243,6 +270,11 @@ public class Gauge extends Control {
     private ObjectProperty<NeedleSize>           needleSize;
     private NeedleBehavior                       _needleBehavior;
     private ObjectProperty<NeedleBehavior>       needleBehavior;
+    private NeedleMotion                         _needleMotion;
+    private ObjectProperty<NeedleMotion>         needleMotion;
+    private double                               needleMass;
+    private double                               needleDamping;
+    private double                               needleStiffness;
     private Color                                _needleColor;
     private ObjectProperty<Color>                needleColor;
     private Color                                _needleBorderColor;
@@ -345,14 +377,37 @@ public class Gauge extends Control {
     private StringProperty                       buttonTooltipText;
     private boolean                              _keepAspect;
     private BooleanProperty                      keepAspect;
+    private boolean                              _suspendWhenHidden;
+    private BooleanProperty                      suspendWhenHidden;
 
     // others
-    private double   originalMinValue;
-    private double   originalMaxValue;
-    private double   originalThreshold;
-    private Timeline timeline;
-    private Instant  lastCall;
-    private boolean  withinSpeedLimit;
+    private double                  originalMinValue;
+    private double                  originalMaxValue;
+    private double                  originalThreshold;
+    private double                  targetValue;
+    private long                    lastValueUpdate;
+    private boolean                 valueUpdatePending;
+    private int                     animationSlot;
+    private int                     returnToZeroSlot;
+    private boolean                 returningToZero;
+    private AnimationEngine.Target  animationTarget;
+    private AnimationEngine.Target  returnToZeroTarget;
+    private long                    noOfCoalescedUpdates;
+    private long                    noOfDroppedUpdates;
+    private long                    noOfSuppressedUpdates;
+    private VisibilityTracker       visibilityTracker;
+    private boolean                 suspended;
+    private boolean                 suspendedUpdatePending;
+    private final Runnable          applyPendingValueUpdate   = () -> applyPendingValueUpdate();
+    private final Runnable          applyScheduledValueUpdate = () -> applyScheduledValueUpdate();
+
+    // value feed
+    private final    AtomicLong    offeredValue            = new AtomicLong(Double.doubleToRawLongBits(0));
+    private final    AtomicBoolean offeredValuePending     = new AtomicBoolean(false);
+    private final    Runnable      applyOfferedValue       = () -> applyOfferedValue();
+    private volatile Downsampler   downsampler;
+    private final    AtomicBoolean downsamplerFlushPending = new AtomicBoolean(false);
+    private final    Runnable      flushDownsampler        = () -> flushDownsampler();
 
 
     // ******************** Constructors **************************************
@@ -374,42 +429,11 @@ public class Gauge extends Control {
         _maxValue                           = 100;
         value                               = new DoublePropertyBase(_minValue) {
             @Override protected void invalidated() {
-                final double VALUE = get();
-                withinSpeedLimit = !(Instant.now().minusMillis(getAnimationDuration()).isBefore(lastCall));
-                lastCall = Instant.now();
-                if (isAnimated() && withinSpeedLimit) {
-                    long animationDuration = isReturnToZero() ? (long) (0.2 * getAnimationDuration()) : getAnimationDuration();
-                    timeline.stop();
-
-                    final KeyValue KEY_VALUE;
-                    if (NeedleBehavior.STANDARD == getNeedleBehavior()) {
-                        KEY_VALUE = new KeyValue(currentValue, VALUE, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
-                    } else {
-                        double ov  = getOldValue();
-                        double min = getMinValue();
-                        double max = getMaxValue();
-                        double cv  = getCurrentValue();
-                        double tmpValue;
-                        if (Math.abs(VALUE - ov) > getRange() * 0.5) {
-                            if (ov < VALUE) {
-                                tmpValue = min - max + VALUE;
-                            } else {
-                                tmpValue = ov + max - ov + min + VALUE - getRange();
-                            }
-                            KEY_VALUE = new KeyValue(currentValue, tmpValue, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
-                        } else {
-                            if (cv < min) currentValue.set(max + cv);
-                            KEY_VALUE = new KeyValue(currentValue, VALUE, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
-                        }
-                    }
-                    final KeyFrame KEY_FRAME = new KeyFrame(Duration.millis(animationDuration), KEY_VALUE);
-                    timeline.getKeyFrames().setAll(KEY_FRAME);
-                    timeline.play();
-                } else {
-                    currentValue.set(VALUE);
-                    fireUpdateEvent(FINISHED_EVENT);
-                }
-                oldValue.set(get());
+                final double RAW_VALUE = get();
+                final long   NOW       = System.nanoTime();
+                if (null != history) { history.add(System.currentTimeMillis(), RAW_VALUE); }
+                if (null != quantileSketch) { quantileSketch.add(NOW, RAW_VALUE); }
+                applySample(RAW_VALUE, NOW);
             }
             @Override public Object getBean() { return Gauge.this; }
             @Override public String getName() { return "value"; }
@@ -426,7 +450,9 @@ public class Gauge extends Control {
                         fireEvent(UNDERRUN_EVENT);
                     }
                 }
-                if (VALUE < getMinMeasuredValue()) {
+                if (null != measuredValueExtremes) {
+                    addToMeasuredValueWindow(VALUE, VALUE);
+                } else if (VALUE < getMinMeasuredValue()) {
                     setMinMeasuredValue(VALUE);
                 } else if (VALUE > getMaxMeasuredValue()) {
                     setMaxMeasuredValue(VALUE);
@@ -448,6 +474,8 @@ public class Gauge extends Control {
         tickMarkSections                    = FXCollections.observableArrayList();
         tickLabelSections                   = FXCollections.observableArrayList();
         markers                             = FXCollections.observableArrayList();
+        valueFilters                        = new CopyOnWriteArrayList<>();
+        filteredValue                       = value.get();
 
         _startFromZero                      = false;
         _returnToZero                       = false;
@@ -499,6 +527,10 @@ public class Gauge extends Control {
         _needleShape                        = NeedleShape.ANGLED;
         _needleSize                         = NeedleSize.STANDARD;
         _needleBehavior                     = NeedleBehavior.STANDARD;
+        _needleMotion                       = NeedleMotion.SPLINE;
+        needleMass                          = 1;
+        needleDamping                       = 18;
+        needleStiffness                     = 120;
         _needleColor                        = Color.rgb(200, 0, 0);
         _needleBorderColor                  = Color.TRANSPARENT;
         _barColor                           = BRIGHT_COLOR;
@@ -550,21 +582,34 @@ public class Gauge extends Control {
         _interactive                        = false;
         _buttonTooltipText                  = "";
         _keepAspect                         = true;
+        _suspendWhenHidden                  = false;
 
         originalMinValue                    = -Double.MAX_VALUE;
         originalMaxValue                    = Double.MAX_VALUE;
         originalThreshold                   = Double.MAX_VALUE;
-        lastCall                            = Instant.now();
-        timeline                            = new Timeline();
-        timeline.setOnFinished(e -> {
-            if (isReturnToZero() && Double.compare(currentValue.get(), 0d) != 0d) {
-                final KeyValue KEY_VALUE2 = new KeyValue(value, 0, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
-                final KeyFrame KEY_FRAME2 = new KeyFrame(Duration.millis((long) (0.8 * getAnimationDuration())), KEY_VALUE2);
-                timeline.getKeyFrames().setAll(KEY_FRAME2);
-                timeline.play();
+        _updatePolicy                       = UpdatePolicy.SNAP_WHEN_BUSY;
+        _updateRate                         = 30;
+        _maxRefreshRate                     = 0;
+        _deadbandEnabled                    = false;
+
+        targetValue                         = value.get();
+        lastValueUpdate                     = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(animationDuration);
+        valueUpdatePending                  = false;
+        animationSlot                       = -1;
+        returnToZeroSlot                    = -1;
+        returningToZero                     = false;
+        animationTarget                     = new AnimationEngine.Target() {
+            @Override public void update(final double VALUE) { currentValue.set(VALUE); }
+            @Override public void finished() { onAnimationFinished(); }
+        };
+        returnToZeroTarget                  = new AnimationEngine.Target() {
+            @Override public void update(final double VALUE) {
+                returningToZero = true;
+                value.set(VALUE);
+                returningToZero = false;
             }
-            fireUpdateEvent(FINISHED_EVENT);
-        });
+            @Override public void finished() {}
+        };
     }
 
     private void registerListeners() { disabledProperty().addListener(o -> setOpacity(isDisabled() ? 0.4 : 1)); }
@@ -583,12 +628,77 @@ public class Gauge extends Control {
     /**
      * Sets the value of the Gauge to the given double. If animated == true this
      * value will be the end value after the animation is finished.
+     * If value filters are defined, each call is a new sample for the
+     * filters, even if the value did not change.
      *
      * @param VALUE
      */
-    public void setValue(final double VALUE) { value.set(VALUE); }
+    public void setValue(final double VALUE) {
+        if (!valueFilters.isEmpty() && VALUE == value.get()) {
+            // An unchanged value doesn't invalidate the property but the filters still have to see the sample
+            applySample(VALUE, System.nanoTime());
+        } else {
+            value.set(VALUE);
+        }
+    }
     public DoubleProperty valueProperty() { return value; }
 
+    /**
+     * Offers a new value to the Gauge. In contrast to setValue() this method
+     * can be called from any thread. The value will be stored and applied
+     * to the gauge during the next JavaFX pulse. If more than one value will
+     * be offered between two pulses only the latest value will be applied,
+     * so it is safe to call this method with high data rates.
+     * If a downsampler is defined the value will first be added to the
+     * current bucket of the downsampler and only the result of each bucket
+     * will be applied.
+     *
+     * @param VALUE
+     */
+    public void offerValue(final double VALUE) {
+        final Downsampler DOWNSAMPLER = downsampler;
+        if (null == DOWNSAMPLER) {
+            publishOfferedValue(VALUE);
+        } else {
+            if (DOWNSAMPLER.add(VALUE, System.nanoTime())) { publishOfferedValue(DOWNSAMPLER.getResult()); }
+            if (downsamplerFlushPending.compareAndSet(false, true)) { PulseDispatcher.runOnNextPulse(flushDownsampler); }
+        }
+    }
+
+    /**
+     * Returns true if a value was offered by offerValue() that was not yet
+     * applied to the gauge.
+     *
+     * @return true if an offered value is waiting for the next pulse
+     */
+    public boolean isOfferedValuePending() { return offeredValuePending.get(); }
+
+    /**
+     * Returns the downsampler that reduces the values offered by offerValue()
+     * to one value per time bucket or null if no downsampler is defined.
+     *
+     * @return the downsampler that is used by offerValue() or null
+     */
+    public Downsampler getDownsampler() { return downsampler; }
+    /**
+     * Defines a downsampler that reduces the values offered by offerValue()
+     * to one value per time bucket before they reach the value property.
+     * The true extremes of all offered values will still be used to update
+     * the min- and maxMeasuredValue. Values that will be set by setValue()
+     * are not affected. Set to null to disable downsampling.
+     *
+     * @param DOWNSAMPLER
+     */
+    public void setDownsampler(final Downsampler DOWNSAMPLER) { downsampler = DOWNSAMPLER; }
+    /**
+     * Convenience method to define a downsampler with the given mode and
+     * bucket duration in milliseconds.
+     *
+     * @param MODE
+     * @param BUCKET_DURATION_MS
+     */
+    public void setDownsampling(final Downsampler.Mode MODE, final long BUCKET_DURATION_MS) { setDownsampler(new Downsampler(MODE, BUCKET_DURATION_MS)); }
+
     /**
      * Returns the current value of the Gauge. If animated == true this value
      * represents the current value during the animation. Otherwise it's returns
@@ -599,6 +709,83 @@ public class Gauge extends Control {
     public double getCurrentValue() { return currentValue.get(); }
     public ReadOnlyDoubleProperty currentValueProperty() { return currentValue; }
 
+    /**
+     * Returns the unfiltered value of the Gauge which is the same as
+     * getValue(). If value filters are defined the currentValue will
+     * be driven by the filtered value where the value property always
+     * contains the raw value that was set.
+     *
+     * @return the unfiltered value of the gauge
+     */
+    public double getRawValue() { return value.get(); }
+
+    /**
+     * Returns the value that results from passing the last value through
+     * all defined value filters. If no filters are defined this is the
+     * same as getValue().
+     *
+     * @return the filtered value of the gauge
+     */
+    public double getFilteredValue() { return filteredValue; }
+
+    /**
+     * Returns the list of value filters that will be applied in the given
+     * order to each value before it drives the currentValue of the gauge.
+     *
+     * @return the list of value filters
+     */
+    public List<ValueFilter> getValueFilters() { return valueFilters; }
+    /**
+     * Sets the value filters to the given list of ValueFilter objects.
+     * The filters will be applied in the given order to each value
+     * before it drives the currentValue of the gauge. Each call of
+     * setValue(), each applied offerValue() and each GaugeBatch value
+     * is one sample, also if it equals the previous value.
+     *
+     * @param FILTERS
+     */
+    public void setValueFilters(final List<ValueFilter> FILTERS) {
+        valueFilters.clear();
+        valueFilters.addAll(FILTERS);
+        resetValueFilters();
+    }
+    /**
+     * Sets the value filters to the given array of ValueFilter objects.
+     *
+     * @param FILTERS
+     */
+    public void setValueFilters(final ValueFilter... FILTERS) { setValueFilters(Arrays.asList(FILTERS)); }
+    /**
+     * Adds the given ValueFilter to the end of the filter chain.
+     *
+     * @param FILTER
+     */
+    public void addValueFilter(final ValueFilter FILTER) {
+        if (null == FILTER) return;
+        valueFilters.add(FILTER);
+    }
+    /**
+     * Removes the given ValueFilter from the filter chain.
+     *
+     * @param FILTER
+     */
+    public void removeValueFilter(final ValueFilter FILTER) {
+        if (null == FILTER) return;
+        valueFilters.remove(FILTER);
+    }
+    /**
+     * Removes all value filters.
+     */
+    public void clearValueFilters() { valueFilters.clear(); }
+    /**
+     * Resets the internal state of all value filters so that the next
+     * value will be treated as the first value.
+     */
+    public void resetValueFilters() {
+        int listSize = valueFilters.size();
+        for (int i = 0 ; i < listSize ; i++) { valueFilters.get(i).reset(); }
+    }
+
     /**
      * Returns the last value of the Gauge. This will not be the last value during
      * an animation but the final last value after the animation was finished.
@@ -1177,6 +1364,92 @@ public class Gauge extends Control {
     }
 
 
+    /**
+     * Returns the history of the values that have been set on the gauge
+     * or null if no history capacity was defined. The history keeps the
+     * values and their timestamps in milliseconds in primitive arrays
+     * that can be read without copying.
+     *
+     * @return the history of the values or null if not enabled
+     */
+    public ValueHistory getHistory() { return history; }
+    /**
+     * Returns the max number of values that will be kept in the history
+     * of the gauge. A value of 0 means no history will be kept.
+     *
+     * @return the max number of values that will be kept in the history
+     */
+    public int getHistoryCapacity() { return null == history ? 0 : history.getCapacity(); }
+    /**
+     * Defines the max number of values that will be kept in the history
+     * of the gauge. Setting the capacity to 0 will disable the history.
+     * Changing the capacity will clear the history.
+     *
+     * @param CAPACITY
+     */
+    public void setHistoryCapacity(final int CAPACITY) {
+        if (CAPACITY <= 0) {
+            history = null;
+        } else if (null == history || history.getCapacity() != CAPACITY) {
+            history = new ValueHistory(CAPACITY);
+        }
+    }
+
+    /**
+     * Returns the sketch that estimates the percentiles of the values that
+     * have been set on the gauge or null if no percentile window was defined.
+     *
+     * @return the sketch that estimates the percentiles of the values or null if not enabled
+     */
+    public QuantileSketch getQuantileSketch() { return quantileSketch; }
+    /**
+     * Defines the sketch that estimates the percentiles of the values that
+     * will be set on the gauge. Use this method if the accuracy or the range
+     * of the default sketch do not fit. Setting null disables the percentiles.
+     *
+     * @param SKETCH
+     */
+    public void setQuantileSketch(final QuantileSketch SKETCH) { quantileSketch = SKETCH; }
+    /**
+     * Returns the length of the rolling window in milliseconds that will be
+     * used for the percentiles. A value of 0 means no percentiles will be estimated.
+     *
+     * @return the length of the rolling window in milliseconds for the percentiles
+     */
+    public long getPercentileWindow() { return null == quantileSketch ? 0 : quantileSketch.getWindow(); }
+    /**
+     * Defines the length of the rolling window in milliseconds that will be
+     * used for the percentiles. The percentiles will be estimated with a
+     * relative accuracy of 1% in constant memory without keeping the values.
+     * The sketch covers the range of the gauge at the time this method is
+     * called. Setting the window to 0 will disable the percentiles.
+     *
+     * @param WINDOW_MS
+     */
+    public void setPercentileWindow(final long WINDOW_MS) {
+        if (WINDOW_MS <= 0) {
+            quantileSketch = null;
+        } else {
+            final double MAX_MAGNITUDE = Math.max(Math.abs(getMinValue()), Math.abs(getMaxValue()));
+            quantileSketch = new QuantileSketch(MAX_MAGNITUDE > 0 ? MAX_MAGNITUDE : 1, WINDOW_MS);
+        }
+    }
+    /**
+     * Returns the estimated percentile (0 - 100) of the values that have
+     * been set within the percentile window, e.g. getPercentile(95) returns
+     * the p95. Returns Double.NaN if no percentile window was defined or no
+     * value was set within the window.
+     *
+     * @param PERCENTILE
+     * @return the estimated percentile of the values within the percentile window
+     */
+    public double getPercentile(final double PERCENTILE) {
+        if (null == quantileSketch) return Double.NaN;
+        quantileSketch.advance(System.nanoTime());
+        return quantileSketch.getQuantile(PERCENTILE / 100.0);
+    }
+
+
     // ******************** UI related methods ********************************
     /**
      * A convenient method to set the color of foreground elements like
@@ -1361,10 +1634,47 @@ public class Gauge extends Control {
      * Resets the min- and maxMeasuredValue to the value of the gauge.
      */
     public void resetMeasuredValues() {
+        if (null != measuredValueExtremes) {
+            measuredValueExtremes.clear();
+            measuredValueExtremes.add(System.nanoTime(), getValue());
+        }
         setMinMeasuredValue(getValue());
         setMaxMeasuredValue(getValue());
     }
 
+    /**
+     * Returns the length of the sliding time window in milliseconds that
+     * will be used for the min- and maxMeasuredValue. A value of 0 means
+     * the min- and maxMeasuredValue cover all values since the last reset.
+     *
+     * @return the length of the sliding time window in milliseconds
+     */
+    public long getMeasuredValueWindow() { return null == measuredValueExtremes ? 0 : measuredValueExtremes.getWindow(); }
+    /**
+     * Defines the length of the sliding time window in milliseconds that
+     * will be used for the min- and maxMeasuredValue (e.g. the peak of the
+     * last 5 minutes). Values that are older than the window will be removed
+     * whenever a new value is measured. If no new value is measured (e.g. a
+     * constant signal) they will be removed at the time they expire, in
+     * which case the current value is taken as measured at that time.
+     * Setting the window to 0 will switch
+     * back to the min- and maxMeasuredValue since the last reset.
+     * Changing the window will reset the min- and maxMeasuredValue.
+     *
+     * @param WINDOW_MS
+     */
+    public void setMeasuredValueWindow(final long WINDOW_MS) {
+        if (WINDOW_MS <= 0) {
+            measuredValueExtremes = null;
+            cancelMeasuredValueEviction();
+        } else if (null == measuredValueExtremes || measuredValueExtremes.getWindow() != WINDOW_MS) {
+            measuredValueExtremes = new MovingExtremes(WINDOW_MS);
+        } else {
+            return;
+        }
+        resetMeasuredValues();
+    }
+
     /**
      * Returns true if the indicator of the minMeasuredValue is visible.
      *
@@ -1816,6 +2126,201 @@ public class Gauge extends Control {
      */
     public void setAnimationDuration(final long ANIMATION_DURATION) { animationDuration = Helper.clamp(10l, 10000l, ANIMATION_DURATION); }
 
+    /**
+     * Returns the policy that defines how the gauge reacts on values that
+     * will be set with a higher rate than the gauge is able to visualize.
+     * SNAP_WHEN_BUSY (default) animates a new value only if the last
+     * value was set longer than animationDuration ago, otherwise the
+     * needle/bar will snap to the new value.
+     * ANIMATE_ALWAYS restarts the animation for each new value.
+     * COALESCE_TO_LAST keeps the running animation and animates to the
+     * latest value that was set in the meantime when it is finished.
+     * FIXED_HZ updates the needle/bar at most updateRate times per second
+     * with the latest value.
+     *
+     * @return the policy that defines how the gauge reacts on high update rates
+     */
+    public UpdatePolicy getUpdatePolicy() { return null == updatePolicy ? _updatePolicy : updatePolicy.get(); }
+    /**
+     * Defines the policy that defines how the gauge reacts on values that
+     * will be set with a higher rate than the gauge is able to visualize.
+     *
+     * @param POLICY
+     */
+    public void setUpdatePolicy(final UpdatePolicy POLICY) {
+        if (null == updatePolicy) {
+            _updatePolicy = null == POLICY ? UpdatePolicy.SNAP_WHEN_BUSY : POLICY;
+            onUpdatePolicyChanged();
+        } else {
+            updatePolicy.set(POLICY);
+        }
+    }
+    public ObjectProperty<UpdatePolicy> updatePolicyProperty() {
+        if (null == updatePolicy) {
+            updatePolicy = new ObjectPropertyBase<UpdatePolicy>(_updatePolicy) {
+                @Override protected void invalidated() {
+                    if (null == get()) { set(UpdatePolicy.SNAP_WHEN_BUSY); return; }
+                    onUpdatePolicyChanged();
+                }
+                @Override public Object getBean() { return Gauge.this; }
+                @Override public String getName() { return "updatePolicy"; }
+            };
+        }
+        return updatePolicy;
+    }
+
+    /**
+     * Returns the max number of updates per second of the needle/bar
+     * that will be used if the updatePolicy is FIXED_HZ.
+     *
+     * @return the max number of updates per second when using FIXED_HZ
+     */
+    public double getUpdateRate() { return null == updateRate ? _updateRate : updateRate.get(); }
+    /**
+     * Defines the max number of updates per second of the needle/bar
+     * that will be used if the updatePolicy is FIXED_HZ. The value will
+     * be clamped in the range of 0.1 - 1000 Hz.
+     *
+     * @param RATE
+     */
+    public void setUpdateRate(final double RATE) {
+        if (null == updateRate) {
+            _updateRate = Helper.clamp(0.1, 1000.0, RATE);
+        } else {
+            updateRate.set(RATE);
+        }
+    }
+    public DoubleProperty updateRateProperty() {
+        if (null == updateRate) {
+            updateRate = new DoublePropertyBase(_updateRate) {
+                @Override protected void invalidated() { set(Helper.clamp(0.1, 1000.0, get())); }
+                @Override public Object getBean() { return Gauge.this; }
+                @Override public String getName() { return "updateRate"; }
+            };
+        }
+        return updateRate;
+    }
+
+    /**
+     * Returns the max number of frames per second the gauge will be
+     * redrawn with. A value of 0 (default) means no limit.
+     * Gauges with a limit will be redrawn by a shared scheduler where all
+     * gauges with the same limit will be redrawn within the same pulse.
+     * Values that will be set in between will be coalesced and animations
+     * will be decimated to the given frame rate. This can be used to give
+     * less important gauges (e.g. ambient temperatures) a lower priority
+     * than the important ones.
+     *
+     * @return the max number of frames per second or 0 for no limit
+     */
+    public double getMaxRefreshRate() { return null == maxRefreshRate ? _maxRefreshRate : maxRefreshRate.get(); }
+    /**
+     * Defines the max number of frames per second the gauge will be
+     * redrawn with. A value of 0 means no limit, other values will be
+     * clamped in the range of 0.1 - 1000 fps.
+     *
+     * @param RATE
+     */
+    public void setMaxRefreshRate(final double RATE) {
+        if (null == maxRefreshRate) {
+            _maxRefreshRate = RATE <= 0 ? 0 : Helper.clamp(0.1, 1000.0, RATE);
+        } else {
+            maxRefreshRate.set(RATE);
+        }
+    }
+    public DoubleProperty maxRefreshRateProperty() {
+        if (null == maxRefreshRate) {
+            maxRefreshRate = new DoublePropertyBase(_maxRefreshRate) {
+                @Override protected void invalidated() { set(get() <= 0 ? 0 : Helper.clamp(0.1, 1000.0, get())); }
+                @Override public Object getBean() { return Gauge.this; }
+                @Override public String getName() { return "maxRefreshRate"; }
+            };
+        }
+        return maxRefreshRate;
+    }
+
+    /**
+     * Returns the number of values that have not been visualized
+     * immediately because of the updatePolicy but were deferred and
+     * applied later.
+     *
+     * @return the number of deferred value updates
+     */
+    public long getNoOfCoalescedUpdates() { return noOfCoalescedUpdates; }
+
+    /**
+     * Returns the number of values that have never been visualized
+     * because they were replaced by a newer value while they were
+     * deferred due to the updatePolicy.
+     *
+     * @return the number of values that have never been visualized
+     */
+    public long getNoOfDroppedUpdates() { return noOfDroppedUpdates; }
+
+    /**
+     * Returns the number of values that have not been visualized because
+     * the change was too small to be visible (see deadbandEnabled).
+     *
+     * @return the number of values that have been suppressed by the deadband
+     */
+    public long getNoOfSuppressedUpdates() { return noOfSuppressedUpdates; }
+
+    /**
+     * Resets the counters for coalesced, dropped and suppressed updates.
+     */
+    public void resetUpdateCounters() {
+        noOfCoalescedUpdates  = 0;
+        noOfDroppedUpdates    = 0;
+        noOfSuppressedUpdates = 0;
+    }
+
+    /**
+     * Returns true if values that would not lead to a visible change of
+     * the gauge will be ignored. A change is visible if it moves the
+     * needle/bar by at least one pixel or if it changes the displayed
+     * text with the given number of decimals.
+     *
+     * @return true if invisible value changes will be ignored
+     */
+    public boolean isDeadbandEnabled() { return null == deadbandEnabled ? _deadbandEnabled : deadbandEnabled.get(); }
+    /**
+     * Defines if values that would not lead to a visible change of the
+     * gauge will be ignored. This is useful if many gauges visualize
+     * slowly drifting signals because the skins will only be updated if
+     * the change will be visible. The value property will always contain
+     * the latest value.
+     *
+     * @param ENABLED
+     */
+    public void setDeadbandEnabled(final boolean ENABLED) {
+        if (null == deadbandEnabled) {
+            _deadbandEnabled = ENABLED;
+        } else {
+            deadbandEnabled.set(ENABLED);
+        }
+    }
+    public BooleanProperty deadbandEnabledProperty() {
+        if (null == deadbandEnabled) { deadbandEnabled = new SimpleBooleanProperty(Gauge.this, "deadbandEnabled", _deadbandEnabled); }
+        return deadbandEnabled;
+    }
+
+    /**
+     * Returns the smallest change of the value that will move the needle/bar
+     * by one pixel with the current layout of the skin. The skin reports its
+     * resolution by implementing ResolutionAwareSkin. Returns 0 if the skin
+     * doesn't report it or was not laid out yet and Double.POSITIVE_INFINITY
+     * for skins that only visualize the value as text.
+     *
+     * @return the smallest change of the value that will move the needle/bar by one pixel
+     */
+    public double getMinVisibleChange() {
+        final Skin<?> SKIN = getSkin();
+        if (!(SKIN instanceof ResolutionAwareSkin)) return 0;
+        final double PIXELS_PER_UNIT = ((ResolutionAwareSkin) SKIN).getPixelsPerUnit();
+        if (Double.isNaN(PIXELS_PER_UNIT) || PIXELS_PER_UNIT < 0) return 0;
+        return 1.0 / PIXELS_PER_UNIT;
+    }
+
     /**
      * Returns the angle in degree that defines the start of the scale with
      * it's minValue in a radial gauge. If set to 0 the scale will start at
@@ -2948,6 +3453,92 @@ public class Gauge extends Control {
         return needleBehavior;
     }
 
+    /**
+     * Returns the way the needle/bar moves to a new value.
+     * SPLINE (default) animates to each new value within animationDuration.
+     * SPRING moves the needle/bar like a mass that is attached to the value
+     * by a damped spring (see needleMass, needleDamping and needleStiffness).
+     * A new value that arrives while the needle is moving only changes the
+     * target of the spring, so the needle keeps its velocity and moves
+     * smoothly even with a high update rate. SPRING will be used with both
+     * needle behaviors.
+     *
+     * @return the way the needle/bar moves to a new value
+     */
+    public NeedleMotion getNeedleMotion() { return null == needleMotion ? _needleMotion : needleMotion.get(); }
+    /**
+     * Defines the way the needle/bar moves to a new value.
+     * The values are SPLINE and SPRING.
+     *
+     * @param MOTION
+     */
+    public void setNeedleMotion(final NeedleMotion MOTION) {
+        if (null == needleMotion) {
+            _needleMotion = null == MOTION ? NeedleMotion.SPLINE : MOTION;
+        } else {
+            needleMotion.set(MOTION);
+        }
+    }
+    public ObjectProperty<NeedleMotion> needleMotionProperty() {
+        if (null == needleMotion) {
+            needleMotion = new ObjectPropertyBase<NeedleMotion>(_needleMotion) {
+                @Override protected void invalidated() { if(null == get()) set(NeedleMotion.SPLINE); }
+                @Override public Object getBean() { return Gauge.this; }
+                @Override public String getName() { return "needleMotion"; }
+            };
+        }
+        return needleMotion;
+    }
+
+    /**
+     * Returns the mass of the needle/bar that will be used if the
+     * needleMotion is SPRING. A heavier needle reacts slower.
+     *
+     * @return the mass of the needle/bar for the SPRING needleMotion
+     */
+    public double getNeedleMass() { return needleMass; }
+    /**
+     * Defines the mass of the needle/bar that will be used if the
+     * needleMotion is SPRING. The value will be clamped in the
+     * range of 0.01 - 1000.
+     *
+     * @param MASS
+     */
+    public void setNeedleMass(final double MASS) { needleMass = Helper.clamp(0.01, 1000.0, MASS); }
+
+    /**
+     * Returns the damping that will be used if the needleMotion is SPRING.
+     * A damping below 2 * sqrt(needleStiffness * needleMass) lets the
+     * needle/bar overshoot the value.
+     *
+     * @return the damping for the SPRING needleMotion
+     */
+    public double getNeedleDamping() { return needleDamping; }
+    /**
+     * Defines the damping that will be used if the needleMotion is SPRING.
+     * The value will be clamped in the range of 0.01 - 10000 because an
+     * undamped spring would never come to rest.
+     *
+     * @param DAMPING
+     */
+    public void setNeedleDamping(final double DAMPING) { needleDamping = Helper.clamp(0.01, 10000.0, DAMPING); }
+
+    /**
+     * Returns the stiffness of the spring that will be used if the
+     * needleMotion is SPRING. A stiffer spring moves the needle/bar faster.
+     *
+     * @return the stiffness of the spring for the SPRING needleMotion
+     */
+    public double getNeedleStiffness() { return needleStiffness; }
+    /**
+     * Defines the stiffness of the spring that will be used if the
+     * needleMotion is SPRING. The value will be clamped in the
+     * range of 0.01 - 10000.
+     *
+     * @param STIFFNESS
+     */
+    public void setNeedleStiffness(final double STIFFNESS) { needleStiffness = Helper.clamp(0.01, 10000.0, STIFFNESS); }
+
     /**
      * Returns the color that will be used to colorize the needle of
      * the radial gauges.
@@ -4316,9 +4907,9 @@ public class Gauge extends Control {
         if (null == ledBlinking) {
             _ledBlinking = BLINKING;
             if (_ledBlinking) {
-                startBlinkExecutorService();
+                if (!suspended) { startBlinking(); }
             } else {
-                if (null != blinkFuture) blinkFuture.cancel(true);
+                stopBlinking();
                 setLedOn(false);
             }
         } else {
@@ -4330,9 +4921,9 @@ public class Gauge extends Control {
             ledBlinking = new BooleanPropertyBase(_ledBlinking) {
                 @Override protected void invalidated() {
                     if (get()) {
-                        startBlinkExecutorService();
+                        if (!suspended) { startBlinking(); }
                     } else {
-                        if (null != blinkFuture) blinkFuture.cancel(true);
+                        stopBlinking();
                         setLedOn(false);
                     }
                 }
@@ -4673,6 +5264,50 @@ public class Gauge extends Control {
         return keepAspect;
     }
 
+    /**
+     * Returns true if the gauge will be suspended while it is not showing.
+     * A gauge is not showing if it is not attached to a scene in a showing
+     * window or if the gauge or one of its parents is not visible (e.g.
+     * in a Tab that is not selected).
+     * A suspended gauge only keeps the latest value, stops animating and
+     * blinking and updates the needle/bar once when it is showing again.
+     * Threshold events and the min- and maxMeasuredValue will also only
+     * be updated when the gauge is showing again.
+     *
+     * @return true if the gauge will be suspended while it is not showing
+     */
+    public boolean isSuspendWhenHidden() { return null == suspendWhenHidden ? _suspendWhenHidden : suspendWhenHidden.get(); }
+    /**
+     * Defines if the gauge will be suspended while it is not showing.
+     *
+     * @param SUSPEND
+     */
+    public void setSuspendWhenHidden(final boolean SUSPEND) {
+        if (null == suspendWhenHidden) {
+            _suspendWhenHidden = SUSPEND;
+            updateVisibilityTracker();
+        } else {
+            suspendWhenHidden.set(SUSPEND);
+        }
+    }
+    public BooleanProperty suspendWhenHiddenProperty() {
+        if (null == suspendWhenHidden) {
+            suspendWhenHidden = new BooleanPropertyBase(_suspendWhenHidden) {
+                @Override protected void invalidated() { updateVisibilityTracker(); }
+                @Override public Object getBean() { return Gauge.this; }
+                @Override public String getName() { return "suspendWhenHidden"; }
+            };
+        }
+        return suspendWhenHidden;
+    }
+
+    /**
+     * Returns true if the gauge is suspended because it is not showing.
+     *
+     * @return true if the gauge is suspended
+     */
+    public boolean isSuspended() { return suspended; }
+
     /**
      * Calling this method will lead to a recalculation of the scale
      */
@@ -4690,35 +5325,322 @@ public class Gauge extends Control {
 
 
     // ******************** Misc **********************************************
-    private synchronized void createBlinkTask() {
+    private boolean isWithinDeadband(final double VALUE) {
+        if (Math.abs(VALUE - targetValue) >= getMinVisibleChange()) return false;
+        if (!isValueVisible()) return true;
+        final double FACTOR = DECIMAL_FACTORS[Helper.clamp(0, MAX_NO_OF_DECIMALS, getDecimals())];
+        return Math.round(VALUE * FACTOR) == Math.round(targetValue * FACTOR);
+    }
+
+    private boolean isValueUpdateDeferred(final long NOW) {
+        final double MAX_REFRESH_RATE = getMaxRefreshRate();
+        if (MAX_REFRESH_RATE > 0 && NOW - lastValueUpdate < RefreshScheduler.getInterval(MAX_REFRESH_RATE)) {
+            noOfCoalescedUpdates++;
+            if (valueUpdatePending) {
+                noOfDroppedUpdates++;
+            } else {
+                valueUpdatePending = true;
+                RefreshScheduler.schedule(applyScheduledValueUpdate, MAX_REFRESH_RATE);
+            }
+            return true;
+        }
+        final boolean DEFER;
+        switch (getUpdatePolicy()) {
+            case COALESCE_TO_LAST: DEFER = isAnimated() && AnimationEngine.isRunning(animationSlot, animationTarget); break;
+            case FIXED_HZ        : DEFER = NOW - lastValueUpdate < getUpdateInterval(); break;
+            default              : DEFER = false; break;
+        }
+        if (!DEFER) return false;
+        noOfCoalescedUpdates++;
+        if (valueUpdatePending) {
+            noOfDroppedUpdates++;
+        } else {
+            valueUpdatePending = true;
+            if (UpdatePolicy.FIXED_HZ == getUpdatePolicy()) { PulseDispatcher.runOnNextPulse(applyPendingValueUpdate); }
+        }
+        return true;
+    }
+
+    private void applyPendingValueUpdate() {
+        if (!valueUpdatePending) return;
+        if (suspended) {
+            valueUpdatePending     = false;
+            suspendedUpdatePending = true;
+            return;
+        }
+        final long NOW = System.nanoTime();
+        if (UpdatePolicy.FIXED_HZ == getUpdatePolicy() && NOW - lastValueUpdate < getUpdateInterval()) {
+            PulseDispatcher.runOnNextPulse(applyPendingValueUpdate);
+        } else {
+            updateCurrentValue(NOW);
+        }
+    }
+
+    private void onUpdatePolicyChanged() {
+        // A value that was deferred by the former policy must not wait for a condition of that policy
+        if (!valueUpdatePending) return;
+        if (UpdatePolicy.COALESCE_TO_LAST == getUpdatePolicy() && AnimationEngine.isRunning(animationSlot, animationTarget)) return;
+        PulseDispatcher.runOnNextPulse(applyPendingValueUpdate);
+    }
+
+    private long getFrameInterval() {
+        final double MAX_REFRESH_RATE = getMaxRefreshRate();
+        return MAX_REFRESH_RATE > 0 ? RefreshScheduler.getInterval(MAX_REFRESH_RATE) : 0;
+    }
+
+    private void applyScheduledValueUpdate() {
+        if (!valueUpdatePending) return;
+        if (suspended) {
+            valueUpdatePending     = false;
+            suspendedUpdatePending = true;
+            return;
+        }
+        updateCurrentValue(System.nanoTime());
+    }
+
+    private long getUpdateInterval() { return (long) (1_000_000_000 / getUpdateRate()); }
+
+    private void updateCurrentValue(final long NOW) {
+        final double  VALUE              = filteredValue;
+        final boolean WITHIN_SPEED_LIMIT = NOW - lastValueUpdate >= TimeUnit.MILLISECONDS.toNanos(getAnimationDuration());
+        final boolean SPRING             = NeedleMotion.SPRING == getNeedleMotion();
+        final boolean ANIMATE            = isAnimated() && (WITHIN_SPEED_LIMIT || SPRING || UpdatePolicy.SNAP_WHEN_BUSY != getUpdatePolicy());
+        lastValueUpdate    = NOW;
+        valueUpdatePending = false;
+        if (ANIMATE) {
+            long animationDuration = isReturnToZero() ? (long) (0.2 * getAnimationDuration()) : getAnimationDuration();
+
+            final double END_VALUE;
+            if (NeedleBehavior.STANDARD == getNeedleBehavior()) {
+                END_VALUE = VALUE;
+            } else {
+                double ov  = targetValue;
+                double min = getMinValue();
+                double max = getMaxValue();
+                double cv  = getCurrentValue();
+                double tmpValue;
+                if (Math.abs(VALUE - ov) > getRange() * 0.5) {
+                    if (ov < VALUE) {
+                        tmpValue = min - max + VALUE;
+                    } else {
+                        tmpValue = ov + max - ov + min + VALUE - getRange();
+                    }
+                    END_VALUE = tmpValue;
+                } else {
+                    if (cv < min) currentValue.set(max + cv);
+                    END_VALUE = VALUE;
+                }
+            }
+            if (SPRING) {
+                animationSlot = AnimationEngine.spring(animationSlot, animationTarget, getCurrentValue(), END_VALUE, needleMass, needleDamping, needleStiffness, getRange() * 0.0001, getFrameInterval());
+            } else {
+                animationSlot = AnimationEngine.animate(animationSlot, animationTarget, getCurrentValue(), END_VALUE, TimeUnit.MILLISECONDS.toNanos(animationDuration), getFrameInterval());
+            }
+        } else {
+            AnimationEngine.stop(animationSlot, animationTarget);
+            currentValue.set(VALUE);
+            fireUpdateEvent(FINISHED_EVENT);
+        }
+        targetValue = VALUE;
+        oldValue.set(value.get());
+    }
+
+    private void updateVisibilityTracker() {
+        if (isSuspendWhenHidden()) {
+            if (null != visibilityTracker) return;
+            visibilityTracker = new VisibilityTracker(Gauge.this);
+            visibilityTracker.showingProperty().addListener(o -> setSuspended(!visibilityTracker.isShowing()));
+            setSuspended(!visibilityTracker.isShowing());
+        } else {
+            if (null == visibilityTracker) return;
+            visibilityTracker.dispose();
+            visibilityTracker = null;
+            setSuspended(false);
+        }
+    }
+
+    private void setSuspended(final boolean SUSPENDED) {
+        if (SUSPENDED == suspended) return;
+        suspended = SUSPENDED;
+        if (SUSPENDED) {
+            // Stop the needle where it is and move it to the latest value when showing again
+            if (AnimationEngine.isRunning(animationSlot, animationTarget) || valueUpdatePending) { suspendedUpdatePending = true; }
+            AnimationEngine.stop(animationSlot, animationTarget);
+            AnimationEngine.stop(returnToZeroSlot, returnToZeroTarget);
+            valueUpdatePending = false;
+            if (isLedBlinking()) { stopBlinking(); }
+        } else {
+            if (suspendedUpdatePending) {
+                // One catch up update without animation
+                suspendedUpdatePending = false;
+                lastValueUpdate        = System.nanoTime();
+                targetValue            = filteredValue;
+                currentValue.set(filteredValue);
+                oldValue.set(value.get());
+                fireUpdateEvent(FINISHED_EVENT);
+            }
+            if (isLedBlinking()) { startBlinking(); }
+        }
+    }
+
+    private void onAnimationFinished() {
+        if (valueUpdatePending) {
+            // Animate to the latest value that was set during the animation
+            applyPendingValueUpdate();
+            return;
+        }
+        if (isReturnToZero() && Double.compare(currentValue.get(), 0d) != 0d) {
+            returnToZeroSlot = AnimationEngine.animate(returnToZeroSlot, returnToZeroTarget, value.get(), 0, TimeUnit.MILLISECONDS.toNanos((long) (0.8 * getAnimationDuration())), getFrameInterval());
+        }
+        fireUpdateEvent(FINISHED_EVENT);
+    }
+
+    /**
+     * Passes the given sample through the value filters and lets the
+     * filtered value drive the currentValue of the gauge.
+     */
+    private void applySample(final double RAW_VALUE, final long NOW) {
+        // A new value cancels a running return to zero
+        if (!returningToZero) { AnimationEngine.stop(returnToZeroSlot, returnToZeroTarget); }
+        filteredValue = valueFilters.isEmpty() ? RAW_VALUE : applyValueFilters(RAW_VALUE);
+        if (isDeadbandEnabled() && isWithinDeadband(filteredValue)) {
+            noOfSuppressedUpdates++;
+            return;
+        }
+        if (suspended) {
+            suspendedUpdatePending = true;
+            return;
+        }
+        if (isValueUpdateDeferred(NOW)) return;
+        updateCurrentValue(NOW);
+    }
+
+    private double applyValueFilters(final double VALUE) {
+        double filtered = VALUE;
+        int    listSize = valueFilters.size();
+        for (int i = 0 ; i < listSize ; i++) { filtered = valueFilters.get(i).filter(filtered); }
+        return filtered;
+    }
+
+    private void addToMeasuredValueWindow(final double MIN, final double MAX) {
+        final long NOW = System.nanoTime();
+        measuredValueExtremes.add(NOW, MIN);
+        if (MAX != MIN) { measuredValueExtremes.add(NOW, MAX); }
+        setMinMeasuredValue(measuredValueExtremes.getMin());
+        setMaxMeasuredValue(measuredValueExtremes.getMax());
+        scheduleMeasuredValueEviction();
+    }
+
+    /**
+     * Schedules the eviction of the oldest relevant value of the measured
+     * value window at the time it expires, so that the min- and
+     * maxMeasuredValue will also be updated if no new values are measured.
+     * If the window only holds the current value the executor will be
+     * released because the eviction would just re-add that value.
+     */
+    private void scheduleMeasuredValueEviction() {
+        if (null == measuredValueExtremes || measuredValueExtremes.isEmpty() || measuredValueExtremes.getMin() == measuredValueExtremes.getMax()) {
+            cancelMeasuredValueEviction();
+            return;
+        }
+        if (null != measuredValueEviction) return;
+        if (null == evictMeasuredValues) { evictMeasuredValues = () -> evictMeasuredValues(); }
+        final long DELAY = Math.max(0, measuredValueExtremes.getNextExpiry() - System.nanoTime());
+        measuredValueEviction = MEASURED_VALUE_EXECUTOR.acquire(Gauge.this).schedule(() -> PulseDispatcher.runOnNextPulse(evictMeasuredValues), DELAY, TimeUnit.NANOSECONDS);
+    }
+    private void evictMeasuredValues() {
+        measuredValueEviction = null;
+        if (null == measuredValueExtremes) return;
+        // The current value is still shown, so it will be the only value left in an otherwise expired window
+        final double VALUE = getCurrentValue();
+        addToMeasuredValueWindow(VALUE, VALUE);
+    }
+    private void cancelMeasuredValueEviction() {
+        if (null != measuredValueEviction) {
+            measuredValueEviction.cancel(false);
+            measuredValueEviction = null;
+        }
+        MEASURED_VALUE_EXECUTOR.release(Gauge.this);
+    }
+
+    private void publishOfferedValue(final double VALUE) {
+        offeredValue.set(Double.doubleToRawLongBits(VALUE));
+        if (offeredValuePending.compareAndSet(false, true)) { PulseDispatcher.runOnNextPulse(applyOfferedValue); }
+    }
+
+    private void applyOfferedValue() {
+        // Reset the flag first so that values offered in the meantime will schedule the next pulse
+        offeredValuePending.set(false);
+        final Downsampler DOWNSAMPLER = downsampler;
+        if (null != DOWNSAMPLER) {
+            double min;
+            double max;
+            synchronized (DOWNSAMPLER) {
+                min = DOWNSAMPLER.getExtremeMin();
+                max = DOWNSAMPLER.getExtremeMax();
+                DOWNSAMPLER.resetExtremes();
+            }
+            if (null != measuredValueExtremes) {
+                if (min <= max) { addToMeasuredValueWindow(min, max); }
+            } else {
+                if (min < getMinMeasuredValue()) { setMinMeasuredValue(min); }
+                if (max > getMaxMeasuredValue()) { setMaxMeasuredValue(max); }
+            }
+        }
+        setValue(Double.longBitsToDouble(offeredValue.get()));
+    }
+
+    private void flushDownsampler() {
+        downsamplerFlushPending.set(false);
+        final Downsampler DOWNSAMPLER = downsampler;
+        if (null == DOWNSAMPLER) return;
+        if (DOWNSAMPLER.flush(System.nanoTime())) { publishOfferedValue(DOWNSAMPLER.getResult()); }
+        // Keep on checking as long as the current bucket contains values
+        if (DOWNSAMPLER.isBucketOpen() && downsamplerFlushPending.compareAndSet(false, true)) { PulseDispatcher.runOnNextPulse(flushDownsampler); }
+    }
+
+    private void createBlinkTask() {
         blinkTask = new Callable<Void>() {
             @Override public Void call() throws Exception {
                 try {
                     setLedOn(!isLedOn());
                 } finally {
-                    if (!Thread.currentThread().isInterrupted()) {
-                        // Schedule the same Callable with the current updateInterval
-                        blinkFuture = blinkService.schedule(this, LED_BLINK_INTERVAL, TimeUnit.MILLISECONDS);
+                    synchronized (Gauge.this) {
+                        if (blinking && !Thread.currentThread().isInterrupted()) {
+                            // Schedule the same Callable with the current updateInterval
+                            blinkFuture = BLINK_EXECUTOR.acquire(Gauge.this).schedule(this, LED_BLINK_INTERVAL, TimeUnit.MILLISECONDS);
+                        }
                     }
                 }
                 return null;
             }
         };
     }
-    private synchronized void startBlinkExecutorService() {
+    private synchronized void startBlinking() {
+        if (blinking) return;
         if (null == blinkTask) { createBlinkTask(); }
-        if (null == blinkService) { blinkService = new ScheduledThreadPoolExecutor(1, Helper.getThreadFactory("BlinkTask", false)); }
-        blinkFuture = blinkService.schedule(blinkTask, LED_BLINK_INTERVAL, TimeUnit.MILLISECONDS);
+        blinking    = true;
+        blinkFuture = BLINK_EXECUTOR.acquire(Gauge.this).schedule(blinkTask, LED_BLINK_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    private synchronized void stopBlinking() {
+        blinking = false;
+        if (null != blinkFuture) {
+            blinkFuture.cancel(true);
+            blinkFuture = null;
+        }
+        BLINK_EXECUTOR.release(Gauge.this);
     }
 
     /**
-     * Calling this method will stop all threads. This is needed when using
-     * JavaFX on mobile devices when the device goes to sleep mode.
+     * Calling this method will stop all threads of this gauge. This is needed
+     * when using JavaFX on mobile devices when the device goes to sleep mode.
+     * The shared blink thread keeps on running as long as other gauges are
+     * blinking.
      */
     public void stop() {
+        stopBlinking();
         setLedOn(false);
-        if (null != blinkFuture) { blinkFuture.cancel(true); }
-        if (null != blinkService) { blinkService.shutdownNow(); }
+        cancelMeasuredValueEviction();
     }
 
     private void createShutdownHook() { Runtime.getRuntime().addShutdownHook(new Thread(() -> stop())); }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa;
+
+import eu.hansolo.medusa.tools.PulseDispatcher;
+import javafx.application.Platform;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class GaugeBatch {
+    private final Gauge[]       gauges;
+    private final double[]      pendingValues;
+    private final double[]      batchValues;
+    private final AtomicBoolean pending;
+    private final Runnable      applyPendingValues;
+    private volatile long       lastBatchDuration;
+    private volatile long       noOfBatches;
+    private final AtomicLong    noOfCoalescedBatches;
+    private LongConsumer        onBatchApplied;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Updates a fixed set of gauges with one array of values. All values
+     * of one batch will be applied in one pass on the JavaFX application
+     * thread during one pulse which leads to one frame per data tick.
+     * The index of a value in the values array corresponds to the index
+     * of the gauge in the given gauges array. A value of Double.NaN leaves
+     * the corresponding gauge untouched.
+     * @param GAUGES
+     */
+    public GaugeBatch(final Gauge... GAUGES) {
+        gauges               = GAUGES.clone();
+        pendingValues        = new double[gauges.length];
+        batchValues          = new double[gauges.length];
+        pending              = new AtomicBoolean(false);
+        noOfCoalescedBatches = new AtomicLong(0);
+        applyPendingValues   = () -> applyPendingValues();
+        Arrays.fill(pendingValues, Double.NaN);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the number of gauges in this batch.
+     * @return the number of gauges in this batch
+     */
+    public int size() { return gauges.length; }
+
+    /**
+     * Returns the gauge at the given index.
+     * @param INDEX
+     * @return the gauge at the given index
+     */
+    public Gauge getGauge(final int INDEX) { return gauges[INDEX]; }
+
+    /**
+     * Stores the given values and applies them to the gauges during the next
+     * pulse. This method can be called from any thread. If more than one
+     * batch will be submitted between two pulses only the latest batch will
+     * be applied. The given array will be copied so that the caller can reuse it.
+     * @param VALUES
+     */
+    public void submit(final double[] VALUES) {
+        checkLength(VALUES);
+        synchronized (pendingValues) { System.arraycopy(VALUES, 0, pendingValues, 0, gauges.length); }
+        if (pending.compareAndSet(false, true)) {
+            PulseDispatcher.runOnNextPulse(applyPendingValues);
+        } else {
+            noOfCoalescedBatches.incrementAndGet();
+        }
+    }
+
+    /**
+     * Applies the given values immediately to the gauges.
+     * This method has to be called on the JavaFX application thread.
+     * @param VALUES
+     */
+    public void apply(final double[] VALUES) {
+        checkLength(VALUES);
+        if (!Platform.isFxApplicationThread()) { throw new IllegalStateException("GaugeBatch.apply() must be called on the JavaFX application thread, use submit() instead"); }
+        applyValues(VALUES);
+    }
+
+    /**
+     * Returns the duration of the last applied batch in nanoseconds.
+     * @return the duration of the last applied batch in nanoseconds
+     */
+    public long getLastBatchDuration() { return lastBatchDuration; }
+
+    /**
+     * Returns the number of batches that have been applied.
+     * @return the number of batches that have been applied
+     */
+    public long getNoOfBatches() { return noOfBatches; }
+
+    /**
+     * Returns the number of submitted batches that have been replaced
+     * by a newer batch before they could be applied.
+     * @return the number of batches that have been replaced by a newer batch
+     */
+    public long getNoOfCoalescedBatches() { return noOfCoalescedBatches.get(); }
+
+    /**
+     * Defines a consumer that will be called on the JavaFX application thread
+     * after each batch with the duration of the batch in nanoseconds.
+     * @param CONSUMER
+     */
+    public void setOnBatchApplied(final LongConsumer CONSUMER) { onBatchApplied = CONSUMER; }
+
+    private void applyPendingValues() {
+        pending.set(false);
+        synchronized (pendingValues) { System.arraycopy(pendingValues, 0, batchValues, 0, gauges.length); }
+        applyValues(batchValues);
+    }
+
+    private void applyValues(final double[] VALUES) {
+        final long START = System.nanoTime();
+        for (int i = 0 ; i < gauges.length ; i++) {
+            double value = VALUES[i];
+            if (Double.isNaN(value)) continue;
+            gauges[i].setValue(value);
+        }
+        lastBatchDuration = System.nanoTime() - START;
+        noOfBatches++;
+        if (null != onBatchApplied) { onBatchApplied.accept(lastBatchDuration); }
+    }
+
+    private void checkLength(final double[] VALUES) {
+        if (VALUES.length != gauges.length) { throw new IllegalArgumentException("Number of values (" + VALUES.length + ") does not match number of gauges (" + gauges.length + ")"); }
+    }
+}
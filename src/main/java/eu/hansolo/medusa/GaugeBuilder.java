@@ -19,11 +19,13 @@ package eu.hansolo.medusa;
 import eu.hansolo.medusa.Gauge.KnobType;
 import eu.hansolo.medusa.Gauge.LedType;
 import eu.hansolo.medusa.Gauge.NeedleBehavior;
+import eu.hansolo.medusa.Gauge.NeedleMotion;
 import eu.hansolo.medusa.Gauge.NeedleShape;
 import eu.hansolo.medusa.Gauge.NeedleSize;
 import eu.hansolo.medusa.Gauge.NeedleType;
 import eu.hansolo.medusa.Gauge.ScaleDirection;
 import eu.hansolo.medusa.Gauge.SkinType;
+import eu.hansolo.medusa.Gauge.UpdatePolicy;
 import eu.hansolo.medusa.tools.GradientLookup;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
@@ -80,6 +82,16 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
         return (B) this;
     }
 
+    public final B historyCapacity(final int CAPACITY) {
+        properties.put("historyCapacity", new SimpleIntegerProperty(CAPACITY));
+        return (B)this;
+    }
+
+    public final B percentileWindow(final long WINDOW_MS) {
+        properties.put("percentileWindow", new SimpleLongProperty(WINDOW_MS));
+        return (B)this;
+    }
+
     public final B minValue(final double VALUE) {
         properties.put("minValue", new SimpleDoubleProperty(VALUE));
         return (B) this;
@@ -150,6 +162,11 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
         return (B)this;
     }
 
+    public final B measuredValueWindow(final long WINDOW_MS) {
+        properties.put("measuredValueWindow", new SimpleLongProperty(WINDOW_MS));
+        return (B)this;
+    }
+
     public final B oldValueVisible(final boolean VISIBLE) {
         properties.put("oldValueVisible", new SimpleBooleanProperty(VISIBLE));
         return (B)this;
@@ -210,6 +227,21 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
         return (B)this;
     }
 
+    public final B updatePolicy(final UpdatePolicy POLICY) {
+        properties.put("updatePolicy", new SimpleObjectProperty<>(POLICY));
+        return (B)this;
+    }
+
+    public final B updateRate(final double RATE) {
+        properties.put("updateRate", new SimpleDoubleProperty(RATE));
+        return (B)this;
+    }
+
+    public final B deadbandEnabled(final boolean ENABLED) {
+        properties.put("deadbandEnabled", new SimpleBooleanProperty(ENABLED));
+        return (B)this;
+    }
+
     public final B startAngle(final double ANGLE) {
         properties.put("startAngle", new SimpleDoubleProperty(ANGLE));
         return (B)this;
@@ -245,6 +277,26 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
         return (B)this;
     }
 
+    public final B needleMotion(final NeedleMotion MOTION) {
+        properties.put("needleMotion", new SimpleObjectProperty<>(MOTION));
+        return (B)this;
+    }
+
+    public final B needleMass(final double MASS) {
+        properties.put("needleMass", new SimpleDoubleProperty(MASS));
+        return (B)this;
+    }
+
+    public final B needleDamping(final double DAMPING) {
+        properties.put("needleDamping", new SimpleDoubleProperty(DAMPING));
+        return (B)this;
+    }
+
+    public final B needleStiffness(final double STIFFNESS) {
+        properties.put("needleStiffness", new SimpleDoubleProperty(STIFFNESS));
+        return (B)this;
+    }
+
     public final B needleColor(final Color COLOR) {
         properties.put("needleColor", new SimpleObjectProperty<>(COLOR));
         return (B)this;
@@ -685,6 +737,16 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
         return (B)this;
     }
 
+    public final B suspendWhenHidden(final boolean SUSPEND) {
+        properties.put("suspendWhenHidden", new SimpleBooleanProperty(SUSPEND));
+        return (B)this;
+    }
+
+    public final B maxRefreshRate(final double RATE) {
+        properties.put("maxRefreshRate", new SimpleDoubleProperty(RATE));
+        return (B)this;
+    }
+
     public final B onValueChanged(final InvalidationListener LISTENER) {
         properties.put("onValueChanged", new SimpleObjectProperty<>(LISTENER));
         return (B)this;
@@ -1051,6 +1113,8 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
                 CONTROL.setAutoScale(((BooleanProperty) properties.get(key)).get());
             } else if("value".equals(key)) {
                 CONTROL.setValue(((DoubleProperty) properties.get(key)).get());
+            } else if ("historyCapacity".equals(key)) {
+                CONTROL.setHistoryCapacity(((IntegerProperty) properties.get(key)).get());
             } else if("decimals".equals(key)) {
                 CONTROL.setDecimals(((IntegerProperty) properties.get(key)).get());
             } else if ("tickLabelDecimals".equals(key)) {
@@ -1071,6 +1135,8 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
                 CONTROL.setMinMeasuredValueVisible(((BooleanProperty) properties.get(key)).get());
             } else if ("maxMeasuredValueVisible".equals(key)) {
                 CONTROL.setMaxMeasuredValueVisible(((BooleanProperty) properties.get(key)).get());
+            } else if ("measuredValueWindow".equals(key)) {
+                CONTROL.setMeasuredValueWindow(((LongProperty) properties.get(key)).get());
             } else if ("oldValueVisible".equals(key)) {
                 CONTROL.setOldValueVisible(((BooleanProperty) properties.get(key)).get());
             } else if ("valueVisible".equals(key)) {
@@ -1095,6 +1161,12 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
                 CONTROL.setAnimated(((BooleanProperty) properties.get(key)).get());
             } else if("animationDuration".equals(key)) {
                 CONTROL.setAnimationDuration(((LongProperty) properties.get(key)).get());
+            } else if ("updatePolicy".equals(key)) {
+                CONTROL.setUpdatePolicy(((ObjectProperty<UpdatePolicy>) properties.get(key)).get());
+            } else if ("updateRate".equals(key)) {
+                CONTROL.setUpdateRate(((DoubleProperty) properties.get(key)).get());
+            } else if ("deadbandEnabled".equals(key)) {
+                CONTROL.setDeadbandEnabled(((BooleanProperty) properties.get(key)).get());
             } else if("startAngle".equals(key)) {
                 CONTROL.setStartAngle(((DoubleProperty) properties.get(key)).get());
             } else if("angleRange".equals(key)) {
@@ -1107,6 +1179,14 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
                 CONTROL.setNeedleSize(((ObjectProperty<NeedleSize>) properties.get(key)).get());
             } else if("needleBehavior".equals(key)) {
                 CONTROL.setNeedleBehavior(((ObjectProperty<NeedleBehavior>) properties.get(key)).get());
+            } else if("needleMotion".equals(key)) {
+                CONTROL.setNeedleMotion(((ObjectProperty<NeedleMotion>) properties.get(key)).get());
+            } else if("needleMass".equals(key)) {
+                CONTROL.setNeedleMass(((DoubleProperty) properties.get(key)).get());
+            } else if("needleDamping".equals(key)) {
+                CONTROL.setNeedleDamping(((DoubleProperty) properties.get(key)).get());
+            } else if("needleStiffness".equals(key)) {
+                CONTROL.setNeedleStiffness(((DoubleProperty) properties.get(key)).get());
             } else if("needleColor".equals(key)) {
                 CONTROL.setNeedleColor(((ObjectProperty<Color>) properties.get(key)).get());
             } else if("needleBorderColor".equals(key)) {
@@ -1263,11 +1343,20 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
                 CONTROL.setButtonTooltipText(((StringProperty) properties.get(key)).get());
             } else if ("keepAspect".equals(key)) {
                 CONTROL.setKeepAspect(((BooleanProperty) properties.get(key)).get());
+            } else if ("suspendWhenHidden".equals(key)) {
+                CONTROL.setSuspendWhenHidden(((BooleanProperty) properties.get(key)).get());
+            } else if ("maxRefreshRate".equals(key)) {
+                CONTROL.setMaxRefreshRate(((DoubleProperty) properties.get(key)).get());
             } else if ("threshold".equals(key)) {
                 CONTROL.setThreshold(((DoubleProperty) properties.get(key)).get());
             }
         }
 
+        // The percentile window depends on the range of the gauge
+        if (properties.containsKey("percentileWindow")) {
+            CONTROL.setPercentileWindow(((LongProperty) properties.get("percentileWindow")).get());
+        }
+
         // Adjust tick mark colors
         if (properties.containsKey("tickMarkColor")) {
             Color tickMarkColor = ((ObjectProperty<Color>) properties.get("tickMarkColor")).get();
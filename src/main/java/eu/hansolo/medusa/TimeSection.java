@@ -28,6 +28,8 @@ import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 
 import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
@@ -52,6 +54,8 @@ public class TimeSection implements Comparable<TimeSection> {
     private ObjectProperty<Color>     textColor;
     private LocalTime                 checkedValue;
 
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
 
     // ******************** Constructors **************************************
     /**
@@ -109,12 +113,16 @@ public class TimeSection implements Comparable<TimeSection> {
     public void setStart(final LocalTime START) {
         if (null == start) {
             _start = START;
+            fireChanged();
         } else {
             start.set(START);
         }
     }
     public ObjectProperty<LocalTime> startProperty() {
-        if (null == start) { start = new SimpleObjectProperty<>(TimeSection.this, "start", _start); }
+        if (null == start) {
+            start = new SimpleObjectProperty<>(TimeSection.this, "start", _start);
+            start.addListener(o -> fireChanged());
+        }
         return start;
     }
 
@@ -130,12 +138,16 @@ public class TimeSection implements Comparable<TimeSection> {
     public void setStop(final LocalTime STOP) {
         if (null == stop) {
             _stop = STOP;
+            fireChanged();
         } else {
             stop.set(STOP);
         }
     }
     public ObjectProperty<LocalTime> stopProperty() {
-        if (null == stop) { stop = new SimpleObjectProperty<>(TimeSection.this, "stop", _stop); }
+        if (null == stop) {
+            stop = new SimpleObjectProperty<>(TimeSection.this, "stop", _stop);
+            stop.addListener(o -> fireChanged());
+        }
         return stop;
     }
 
@@ -277,6 +289,13 @@ public class TimeSection implements Comparable<TimeSection> {
         checkedValue = VALUE;
     }
 
+    void addChangeListener(final Runnable LISTENER) { if (!changeListeners.contains(LISTENER)) changeListeners.add(LISTENER); }
+    void removeChangeListener(final Runnable LISTENER) { changeListeners.remove(LISTENER); }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) { listener.run(); }
+    }
+
     public boolean equals(final TimeSection SECTION) {
         return (SECTION.getStart().equals(getStart()) &&
                 SECTION.getStop().equals(getStop()) &&
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ *
+ * Keeps the sorted start and stop times of a list of TimeSections together
+ * with the instant of the next boundary. Because the sections can only
+ * be entered or left at a boundary, the sections only have to be checked
+ * if the time of the clock reached the next boundary, all other ticks only
+ * need one comparison.
+ */
+class TimeSectionIndex {
+    private static final long                        NANOS_PER_DAY = 86_400_000_000_000L;
+    private        final ObservableList<TimeSection> sections;
+    private        final Runnable                    sectionChanged;
+    private              long[]                      boundaries;
+    private              boolean                     dirty;
+    private              long                        nextBoundary;
+    private              long                        lastCheck;
+    private              ZoneId                      lastZone;
+
+
+    // ******************** Constructors **************************************
+    TimeSectionIndex(final ObservableList<TimeSection> SECTIONS) {
+        sections       = SECTIONS;
+        sectionChanged = () -> dirty = true;
+        boundaries     = new long[0];
+        dirty          = true;
+        for (TimeSection section : sections) { section.addChangeListener(sectionChanged); }
+        sections.addListener((ListChangeListener<TimeSection>) c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) { c.getRemoved().forEach(section -> section.removeChangeListener(sectionChanged)); }
+                if (c.wasAdded())   { c.getAddedSubList().forEach(section -> section.addChangeListener(sectionChanged)); }
+            }
+            dirty = true;
+        });
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Forces a check of all sections on the next call of check().
+     */
+    void invalidate() { dirty = true; }
+
+    /**
+     * Checks all sections for the given time if a boundary has been
+     * reached, the sections have changed or the time went backwards.
+     * @param TIME
+     * @param NOW epoch milliseconds of the given time
+     */
+    void check(final ZonedDateTime TIME, final long NOW) {
+        if (!dirty && NOW < nextBoundary && NOW >= lastCheck && TIME.getZone().equals(lastZone)) {
+            lastCheck = NOW;
+            return;
+        }
+        if (dirty) { updateBoundaries(); }
+        final LocalTime LOCAL_TIME     = TIME.toLocalTime();
+        final int       NO_OF_SECTIONS = sections.size();
+        for (int i = 0 ; i < NO_OF_SECTIONS ; i++) { sections.get(i).checkForValue(LOCAL_TIME); }
+        nextBoundary = getNextBoundary(TIME, LOCAL_TIME.toNanoOfDay());
+        lastCheck    = NOW;
+        lastZone     = TIME.getZone();
+    }
+
+    /**
+     * Returns the epoch milliseconds of the next boundary or Long.MAX_VALUE if there are no sections.
+     * @return the epoch milliseconds of the next boundary
+     */
+    long getNextBoundary() { return nextBoundary; }
+
+    /**
+     * A section contains a time if it is after the start and before the
+     * stop of the section which means a section will be entered right after
+     * its start and left at its stop.
+     */
+    private void updateBoundaries() {
+        final int    NO_OF_SECTIONS = sections.size();
+        final long[] BOUNDARIES     = new long[NO_OF_SECTIONS * 2];
+        for (int i = 0 ; i < NO_OF_SECTIONS ; i++) {
+            TimeSection section = sections.get(i);
+            BOUNDARIES[i * 2]     = Math.min(section.getStart().toNanoOfDay() + 1, NANOS_PER_DAY - 1);
+            BOUNDARIES[i * 2 + 1] = section.getStop().toNanoOfDay();
+        }
+        Arrays.sort(BOUNDARIES);
+        int noOfBoundaries = 0;
+        for (int i = 0 ; i < BOUNDARIES.length ; i++) {
+            if (0 == noOfBoundaries || BOUNDARIES[i] != BOUNDARIES[noOfBoundaries - 1]) { BOUNDARIES[noOfBoundaries++] = BOUNDARIES[i]; }
+        }
+        boundaries = Arrays.copyOf(BOUNDARIES, noOfBoundaries);
+        dirty      = false;
+    }
+
+    private long getNextBoundary(final ZonedDateTime TIME, final long NANO_OF_DAY) {
+        if (0 == boundaries.length) return Long.MAX_VALUE;
+        int index = Arrays.binarySearch(boundaries, NANO_OF_DAY);
+        index = index < 0 ? -index - 1 : index + 1;
+        final ZonedDateTime NEXT = index < boundaries.length ?
+                                   TIME.with(LocalTime.ofNanoOfDay(boundaries[index])) :
+                                   TIME.plusDays(1).with(LocalTime.ofNanoOfDay(boundaries[0]));
+        // Round up to the next millisecond to not check before the boundary
+        return NEXT.toEpochSecond() * 1000 + (NEXT.getNano() + 999_999) / 1_000_000;
+    }
+}
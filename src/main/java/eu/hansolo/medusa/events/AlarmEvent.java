@@ -18,6 +18,7 @@ package eu.hansolo.medusa.events;
 
 import eu.hansolo.medusa.Alarm;
 
+import java.time.ZonedDateTime;
 import java.util.EventObject;
 
 
@@ -25,12 +26,17 @@ import java.util.EventObject;
  * Created by hansolo on 28.01.16.
  */
 public class AlarmEvent extends EventObject {
-    public final Alarm ALARM;
+    public final Alarm         ALARM;
+    public final ZonedDateTime TIME;
 
 
     // ******************** Constructors **************************************
     public AlarmEvent(final Object SRC, final Alarm ALARM) {
+        this(SRC, ALARM, ALARM.getTime());
+    }
+    public AlarmEvent(final Object SRC, final Alarm ALARM, final ZonedDateTime TIME) {
         super(SRC);
         this.ALARM = ALARM;
+        this.TIME  = TIME;
     }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.events;
+
+import eu.hansolo.medusa.tools.RenderingGovernor.QualityTier;
+
+import java.util.EventObject;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class QualityTierEvent extends EventObject {
+    public final QualityTier OLD_TIER;
+    public final QualityTier NEW_TIER;
+    public final double      FRAME_TIME;
+
+
+    // ******************** Constructors **************************************
+    public QualityTierEvent(final Object SRC, final QualityTier OLD_TIER, final QualityTier NEW_TIER, final double FRAME_TIME) {
+        super(SRC);
+        this.OLD_TIER   = OLD_TIER;
+        this.NEW_TIER   = NEW_TIER;
+        this.FRAME_TIME = FRAME_TIME;
+    }
+}
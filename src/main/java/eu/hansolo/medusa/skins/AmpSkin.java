@@ -66,7 +66,7 @@ import java.util.Locale;
 /**
  * Created by hansolo on 30.12.15.
  */
-public class AmpSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class AmpSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double PREFERRED_WIDTH  = 310;
     private static final double PREFERRED_HEIGHT = 260;
     private static final double MINIMUM_WIDTH    = 31;
@@ -484,6 +484,8 @@ public class AmpSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         lcdText.setTranslateX((width - lcdText.getPrefWidth()) * 0.5);
     }
 
+    @Override public double getPixelsPerUnit() { return width > 0 && height > 0 ? Math.toRadians(Math.abs(angleStep)) * Math.max(width, height) : Double.NaN; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
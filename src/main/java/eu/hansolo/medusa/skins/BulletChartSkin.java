@@ -53,7 +53,7 @@ import java.util.Locale;
 /**
  * Created by hansolo on 25.12.15.
  */
-public class BulletChartSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class BulletChartSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double          MINIMUM_WIDTH   = 50;
     private static final double          MINIMUM_HEIGHT  = 50;
     private static final double          MAXIMUM_WIDTH   = 1024;
@@ -357,6 +357,8 @@ public class BulletChartSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         }
     }
 
+    @Override public double getPixelsPerUnit() { return stepSize > 0 ? stepSize : Double.NaN; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
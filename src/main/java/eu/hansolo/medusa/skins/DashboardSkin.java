@@ -53,7 +53,7 @@ import java.util.Locale;
 /**
  * Created by hansolo on 28.12.15.
  */
-public class DashboardSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class DashboardSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double PREFERRED_WIDTH  = 200;
     private static final double PREFERRED_HEIGHT = 148;
     private static final double MINIMUM_WIDTH    = 50;
@@ -307,6 +307,8 @@ public class DashboardSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         }
     }
 
+    @Override public double getPixelsPerUnit() { return size > 0 ? Math.toRadians(Math.abs(angleStep)) * 0.5 * size : Double.NaN; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
@@ -47,7 +47,7 @@ import java.util.Locale;
 /**
  * Created by hansolo on 06.01.16.
  */
-public class FlatSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class FlatSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double PREFERRED_WIDTH  = 250;
     private static final double PREFERRED_HEIGHT = 250;
     private static final double MINIMUM_WIDTH    = 50;
@@ -228,6 +228,8 @@ public class FlatSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         unitText.relocate((size - unitText.getLayoutBounds().getWidth()) * 0.5, size * 0.66);
     }
 
+    @Override public double getPixelsPerUnit() { return size > 0 ? Math.toRadians(Math.abs(angleStep)) * 0.5 * size : Double.NaN; }
+
     private void resize() {
         double width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         double height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
@@ -85,7 +85,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Created by hansolo on 11.12.15.
  */
-public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double             PREFERRED_WIDTH  = 250;
     private static final double             PREFERRED_HEIGHT = 250;
     private static final double             MINIMUM_WIDTH    = 50;
@@ -942,6 +942,8 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         subTitleText.relocate((size - subTitleText.getLayoutBounds().getWidth()) * 0.5, size * 0.76);
     }
 
+    @Override public double getPixelsPerUnit() { return size > 0 ? Math.toRadians(Math.abs(angleStep)) * 0.5 * size : Double.NaN; }
+
     private void resize() {
         double width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         double height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
@@ -85,7 +85,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Created by hansolo on 19.01.16.
  */
-public class HSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class HSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double             PREFERRED_WIDTH  = 250;
     private static final double             PREFERRED_HEIGHT = 125;
     private static final double             MINIMUM_WIDTH    = 50;
@@ -885,6 +885,8 @@ public class HSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         subTitleText.relocate(width * 0.57, Pos.TOP_CENTER == knobPosition ? height * 0.05 : height * 0.86);
     }
 
+    @Override public double getPixelsPerUnit() { return width > 0 && height > 0 ? Math.toRadians(Math.abs(angleStep)) * Math.max(width, height) : Double.NaN; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
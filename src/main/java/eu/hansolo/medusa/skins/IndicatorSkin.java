@@ -56,7 +56,7 @@ import java.util.Locale;
 /**
  * Created by hansolo on 16.01.16.
  */
-public class IndicatorSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class IndicatorSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double PREFERRED_WIDTH  = 250;
     private static final double PREFERRED_HEIGHT = 165;
     private static final double MINIMUM_WIDTH    = 50;
@@ -281,6 +281,8 @@ public class IndicatorSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         maxValueText.relocate(width * 0.71527778, height * 0.885);
     }
 
+    @Override public double getPixelsPerUnit() { return width > 0 && height > 0 ? Math.toRadians(Math.abs(angleStep)) * Math.max(width, height) : Double.NaN; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
@@ -50,7 +50,7 @@ import java.util.Locale;
 /**
  * Created by hansolo on 15.01.16.
  */
-public class KpiSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class KpiSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double PREFERRED_WIDTH  = 250;
     private static final double PREFERRED_HEIGHT = 250;
     private static final double MINIMUM_WIDTH    = 50;
@@ -285,6 +285,8 @@ public class KpiSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         thresholdText.relocate(textX, textY);
     }
 
+    @Override public double getPixelsPerUnit() { return size > 0 ? Math.toRadians(Math.abs(angleStep)) * 0.5 * size : Double.NaN; }
+
     private void resize() {
         double width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         double height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
@@ -64,7 +64,7 @@ import java.util.Map;
 /**
  * Created by hansolo on 21.01.16.
  */
-public class LcdSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class LcdSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double                PREFERRED_WIDTH    = 275;
     private static final double                PREFERRED_HEIGHT   = 100;
     private static final double                MINIMUM_WIDTH      = 5;
@@ -502,6 +502,8 @@ public class LcdSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         backgroundText.setCacheHint(CacheHint.SCALE);
     }
 
+    @Override public double getPixelsPerUnit() { return 0; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
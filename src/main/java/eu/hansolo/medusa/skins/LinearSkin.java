@@ -59,7 +59,7 @@ import java.util.Locale;
 /**
  * Created by hansolo on 29.01.16.
  */
-public class LinearSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class LinearSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double MINIMUM_WIDTH   = 100;
     private static final double MINIMUM_HEIGHT  = 100;
     private static final double MAXIMUM_WIDTH   = 1024;
@@ -551,6 +551,8 @@ public class LinearSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         }
     }
 
+    @Override public double getPixelsPerUnit() { return stepSize > 0 ? stepSize : Double.NaN; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
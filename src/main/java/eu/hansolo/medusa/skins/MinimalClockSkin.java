@@ -19,6 +19,7 @@ package eu.hansolo.medusa.skins;
 import eu.hansolo.medusa.Clock;
 import eu.hansolo.medusa.Fonts;
 import eu.hansolo.medusa.tools.Helper;
+import eu.hansolo.medusa.tools.TimeDecomposer;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
@@ -38,11 +39,9 @@ import javafx.scene.shape.StrokeType;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 
-import java.time.Instant;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoField;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -59,6 +58,7 @@ public class MinimalClockSkin extends SkinBase<Clock> implements Skin<Clock> {
     private static final DateTimeFormatter HOUR_FORMATTER      = DateTimeFormatter.ofPattern("HH");
     private static final DateTimeFormatter MINUTE_FORMATTER    = DateTimeFormatter.ofPattern("mm");
     private double            size;
+    private TimeDecomposer    timeDecomposer = new TimeDecomposer();
     private Circle            secondBackgroundCircle;
     private Text              dateText;
     private Text              hour;
@@ -148,9 +148,9 @@ public class MinimalClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         getSkinnable().heightProperty().addListener(o -> handleEvents("RESIZE"));
         getSkinnable().setOnUpdate(e -> handleEvents(e.eventType.name()));
         if (getSkinnable().isAnimated()) {
-            getSkinnable().currentTimeProperty().addListener(o -> updateTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(getSkinnable().getCurrentTime()), ZoneId.of(ZoneId.systemDefault().getId()))));
+            getSkinnable().currentTimeProperty().addListener(o -> updateTime(TimeUnit.SECONDS.toMillis(getSkinnable().getCurrentTime())));
         } else {
-            getSkinnable().timeProperty().addListener(o -> updateTime(getSkinnable().getTime()));
+            getSkinnable().timeProperty().addListener(o -> updateTime(getSkinnable().getTimeMillis()));
         }
         minuteAngle.addListener(o -> moveMinute(minuteAngle.get()));
     }
@@ -180,6 +180,23 @@ public class MinimalClockSkin extends SkinBase<Clock> implements Skin<Clock> {
 
     // ******************** Graphics ******************************************
     public void updateTime(final ZonedDateTime TIME) {
+        timeDecomposer.update(TIME);
+        updateSecondArc();
+        updateTimeDetails(TIME);
+    }
+
+    private void updateTime(final long EPOCH_MILLIS) {
+        final boolean SECOND_CHANGED = timeDecomposer.update(EPOCH_MILLIS, getSkinnable().getTime().getZone());
+        updateSecondArc();
+        // Everything else only changes with the second
+        if (SECOND_CHANGED) { updateTimeDetails(timeDecomposer.toZonedDateTime()); }
+    }
+
+    private void updateSecondArc() {
+        if (secondBackgroundCircle.isVisible()) { secondArc.setLength(-timeDecomposer.getSecondAngle(getSkinnable().isDiscreteSeconds())); }
+    }
+
+    private void updateTimeDetails(final ZonedDateTime TIME) {
         if (dateText.isVisible()) {
             dateText.setText(DATE_TEXT_FORMATTER.format(TIME));
             Helper.adjustTextSize(dateText, 0.6 * size, size * 0.08);
@@ -199,15 +216,6 @@ public class MinimalClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         KeyFrame kf2 = new KeyFrame(Duration.millis(100), kv2);
         timeline.getKeyFrames().setAll(kf1, kf2);
         timeline.play();
-
-        if (secondBackgroundCircle.isVisible()) {
-            secondArc.setLength((-6 * TIME.getSecond()));
-            if (getSkinnable().isDiscreteSeconds()) {
-                secondArc.setLength((-6 * TIME.getSecond()));
-            } else {
-                secondArc.setLength((-6 * TIME.getSecond() - TIME.get(ChronoField.MILLI_OF_SECOND) * 0.006));
-            }
-        }
     }
 
     private void moveMinute(final double ANGLE) {
@@ -21,6 +21,7 @@ import eu.hansolo.medusa.Clock;
 import eu.hansolo.medusa.Fonts;
 import eu.hansolo.medusa.TimeSection;
 import eu.hansolo.medusa.tools.Helper;
+import eu.hansolo.medusa.tools.TimeDecomposer;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.Insets;
 import javafx.geometry.Point2D;
@@ -55,14 +56,12 @@ import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.text.Text;
 import javafx.scene.transform.Rotate;
 
-import java.time.Instant;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoField;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -80,6 +79,7 @@ public class PlainClockSkin extends SkinBase<Clock> implements Skin<Clock> {
     private static final DateTimeFormatter  TIME_FORMATTER       = DateTimeFormatter.ofPattern("HH:mm");
     private              Map<Alarm, Circle> alarmMap             = new ConcurrentHashMap<>();
     private              double             size;
+    private              TimeDecomposer     timeDecomposer       = new TimeDecomposer();
     private              Canvas             sectionsAndAreasCanvas;
     private              GraphicsContext    sectionsAndAreasCtx;
     private              Canvas             tickCanvas;
@@ -212,9 +212,9 @@ public class PlainClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         getSkinnable().heightProperty().addListener(o -> handleEvents("RESIZE"));
         getSkinnable().setOnUpdate(e -> handleEvents(e.eventType.name()));
         if (getSkinnable().isAnimated()) {
-            getSkinnable().currentTimeProperty().addListener(o -> updateTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(getSkinnable().getCurrentTime()), ZoneId.of(ZoneId.systemDefault().getId()))));
+            getSkinnable().currentTimeProperty().addListener(o -> updateTime(TimeUnit.SECONDS.toMillis(getSkinnable().getCurrentTime())));
         } else {
-            getSkinnable().timeProperty().addListener(o -> updateTime(getSkinnable().getTime()));
+            getSkinnable().timeProperty().addListener(o -> updateTime(getSkinnable().getTimeMillis()));
         }
         getSkinnable().getAlarms().addListener((ListChangeListener<Alarm>) c -> {
             updateAlarms();
@@ -430,26 +430,25 @@ public class PlainClockSkin extends SkinBase<Clock> implements Skin<Clock> {
     }
 
     public void updateTime(final ZonedDateTime TIME) {
-        if (getSkinnable().isDiscreteMinutes()) {
-            minuteRotate.setAngle(TIME.getMinute() * 6);
-        } else {
-            minuteRotate.setAngle(TIME.getMinute() * 6 + TIME.getSecond() * 0.1);
-        }
+        timeDecomposer.update(TIME);
+        rotateHands();
+        updateTimeDetails(TIME);
+    }
 
-        if (second.isVisible()) {
-            if (getSkinnable().isDiscreteSeconds()) {
-                secondRotate.setAngle(TIME.getSecond() * 6);
-            } else {
-                secondRotate.setAngle(TIME.getSecond() * 6 + TIME.get(ChronoField.MILLI_OF_SECOND) * 0.006);
-            }
-        }
+    private void updateTime(final long EPOCH_MILLIS) {
+        final boolean SECOND_CHANGED = timeDecomposer.update(EPOCH_MILLIS, getSkinnable().getTime().getZone());
+        rotateHands();
+        // Everything else only changes with the second
+        if (SECOND_CHANGED) { updateTimeDetails(timeDecomposer.toZonedDateTime()); }
+    }
 
-        if (getSkinnable().isDiscreteHours()) {
-            hourRotate.setAngle(TIME.getHour() * 30);
-        } else {
-            hourRotate.setAngle(0.5 * (60 * TIME.getHour() + TIME.getMinute()));
-        }
+    private void rotateHands() {
+        minuteRotate.setAngle(timeDecomposer.getMinuteAngle(getSkinnable().isDiscreteMinutes()));
+        if (second.isVisible()) { secondRotate.setAngle(timeDecomposer.getSecondAngle(getSkinnable().isDiscreteSeconds())); }
+        hourRotate.setAngle(timeDecomposer.getHourAngle(getSkinnable().isDiscreteHours()));
+    }
 
+    private void updateTimeDetails(final ZonedDateTime TIME) {
         if (text.isVisible()) {
             text.setText(TIME_FORMATTER.format(TIME));
             Helper.adjustTextSize(text, 0.6 * size, size * 0.12);
@@ -90,7 +90,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Created by hansolo on 18.01.16.
  */
-public class QuarterSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class QuarterSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double       PREFERRED_WIDTH  = 250;
     private static final double       PREFERRED_HEIGHT = 250;
     private static final double       MINIMUM_WIDTH    = 50;
@@ -1593,6 +1593,8 @@ public class QuarterSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         }
     }
 
+    @Override public double getPixelsPerUnit() { return size > 0 ? Math.toRadians(Math.abs(angleStep)) * 0.5 * size : Double.NaN; }
+
     private void resize() {
         double width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         double height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
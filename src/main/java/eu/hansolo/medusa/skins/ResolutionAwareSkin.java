@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.skins;
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public interface ResolutionAwareSkin {
+
+    /**
+     * Returns the number of pixels the needle/bar of the skin moves if the
+     * value changes by one unit with the current layout of the skin. Returns
+     * 0 if the skin only visualizes the value as text and Double.NaN if the
+     * skin was not laid out yet. If the movement depends on the position
+     * (e.g. along a needle) the biggest movement should be returned, so that
+     * no visible change will be treated as invisible.
+     *
+     * @return the number of pixels the needle/bar moves per unit of the value
+     */
+    double getPixelsPerUnit();
+}
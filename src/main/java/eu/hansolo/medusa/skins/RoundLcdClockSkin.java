@@ -19,6 +19,7 @@ package eu.hansolo.medusa.skins;
 import eu.hansolo.medusa.Clock;
 import eu.hansolo.medusa.Fonts;
 import eu.hansolo.medusa.tools.Helper;
+import eu.hansolo.medusa.tools.TimeDecomposer;
 import javafx.geometry.Insets;
 import javafx.geometry.VPos;
 import javafx.scene.canvas.Canvas;
@@ -39,13 +40,12 @@ import javafx.scene.shape.ArcType;
 import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.text.TextAlignment;
 
-import java.time.Instant;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoField;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -61,6 +61,7 @@ public class RoundLcdClockSkin extends SkinBase<Clock> implements Skin<Clock> {
     private static final DateTimeFormatter TIME_FORMATTER      = DateTimeFormatter.ofPattern("HH:mm");
     private static final DateTimeFormatter AMPM_TIME_FORMATTER = DateTimeFormatter.ofPattern("hh:mm a");
     private              double            size;
+    private              TimeDecomposer    timeDecomposer = new TimeDecomposer();
     private              double            center;
     private              DateTimeFormatter dateFormat;
     private              Pane              pane;
@@ -149,9 +150,9 @@ public class RoundLcdClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         getSkinnable().heightProperty().addListener(o -> handleEvents("RESIZE"));
         getSkinnable().setOnUpdate(e -> handleEvents(e.eventType.name()));
         if (getSkinnable().isAnimated()) {
-            getSkinnable().currentTimeProperty().addListener(o -> updateTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(getSkinnable().getCurrentTime()), ZoneId.of(ZoneId.systemDefault().getId()))));
+            getSkinnable().currentTimeProperty().addListener(o -> updateTime(TimeUnit.SECONDS.toMillis(getSkinnable().getCurrentTime())));
         } else {
-            getSkinnable().timeProperty().addListener(o -> updateTime(getSkinnable().getTime()));
+            getSkinnable().timeProperty().addListener(o -> updateTime(getSkinnable().getTimeMillis()));
         }
     }
 
@@ -378,6 +379,11 @@ public class RoundLcdClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         CTX.restore();
     }
 
+    private void updateTime(final long EPOCH_MILLIS) {
+        // The display only shows whole seconds
+        if (timeDecomposer.update(EPOCH_MILLIS, getSkinnable().getTime().getZone())) { updateTime(timeDecomposer.toZonedDateTime()); }
+    }
+
     private void updateTime(final ZonedDateTime TIME) {
         drawForeground(TIME);
         drawHours(TIME);
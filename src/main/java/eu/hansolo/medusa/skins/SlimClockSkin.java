@@ -19,6 +19,7 @@ package eu.hansolo.medusa.skins;
 import eu.hansolo.medusa.Clock;
 import eu.hansolo.medusa.Fonts;
 import eu.hansolo.medusa.tools.Helper;
+import eu.hansolo.medusa.tools.TimeDecomposer;
 import javafx.geometry.Insets;
 import javafx.scene.control.Skin;
 import javafx.scene.control.SkinBase;
@@ -36,11 +37,9 @@ import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.shape.StrokeType;
 import javafx.scene.text.Text;
 
-import java.time.Instant;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoField;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -58,6 +57,7 @@ public class SlimClockSkin extends SkinBase<Clock> implements Skin<Clock> {
     private static final DateTimeFormatter  MINUTE_FORMATTER    = DateTimeFormatter.ofPattern("mm");
     private DateTimeFormatter  dateNumberFormatter;
     private double            size;
+    private TimeDecomposer    timeDecomposer = new TimeDecomposer();
     private Circle            secondBackgroundCircle;
     private Text              dateText;
     private Text              dateNumbers;
@@ -144,9 +144,9 @@ public class SlimClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         getSkinnable().heightProperty().addListener(o -> handleEvents("RESIZE"));
         getSkinnable().setOnUpdate(e -> handleEvents(e.eventType.name()));
         if (getSkinnable().isAnimated()) {
-            getSkinnable().currentTimeProperty().addListener(o -> updateTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(getSkinnable().getCurrentTime()), ZoneId.of(ZoneId.systemDefault().getId()))));
+            getSkinnable().currentTimeProperty().addListener(o -> updateTime(TimeUnit.SECONDS.toMillis(getSkinnable().getCurrentTime())));
         } else {
-            getSkinnable().timeProperty().addListener(o -> updateTime(getSkinnable().getTime()));
+            getSkinnable().timeProperty().addListener(o -> updateTime(getSkinnable().getTimeMillis()));
         }
     }
 
@@ -177,6 +177,23 @@ public class SlimClockSkin extends SkinBase<Clock> implements Skin<Clock> {
 
     // ******************** Graphics ******************************************
     public void updateTime(final ZonedDateTime TIME) {
+        timeDecomposer.update(TIME);
+        updateSecondArc();
+        updateTimeDetails(TIME);
+    }
+
+    private void updateTime(final long EPOCH_MILLIS) {
+        final boolean SECOND_CHANGED = timeDecomposer.update(EPOCH_MILLIS, getSkinnable().getTime().getZone());
+        updateSecondArc();
+        // Everything else only changes with the second
+        if (SECOND_CHANGED) { updateTimeDetails(timeDecomposer.toZonedDateTime()); }
+    }
+
+    private void updateSecondArc() {
+        if (secondBackgroundCircle.isVisible()) { secondArc.setLength(-timeDecomposer.getSecondAngle(getSkinnable().isDiscreteSeconds())); }
+    }
+
+    private void updateTimeDetails(final ZonedDateTime TIME) {
         if (dateText.isVisible()) {
             dateText.setText(DATE_TEXT_FORMATTER.format(TIME));
             Helper.adjustTextSize(dateText, 0.6 * size, size * 0.08);
@@ -194,15 +211,6 @@ public class SlimClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         minute.setText(MINUTE_FORMATTER.format(TIME));
         Helper.adjustTextSize(minute, 0.4 * size, 0.328 * size);
         minute.relocate(0.544 * size, (size - minute.getLayoutBounds().getHeight()) * 0.5);
-
-        if (secondBackgroundCircle.isVisible()) {
-            secondArc.setLength((-6 * TIME.getSecond()));
-            if (getSkinnable().isDiscreteSeconds()) {
-                secondArc.setLength((-6 * TIME.getSecond()));
-            } else {
-                secondArc.setLength((-6 * TIME.getSecond() -TIME.get(ChronoField.MILLI_OF_SECOND) * 0.006));
-            }
-        }
     }
 
 
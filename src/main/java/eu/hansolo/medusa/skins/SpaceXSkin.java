@@ -46,7 +46,7 @@ import java.util.Locale;
 /**
  * Created by hansolo on 29.12.15.
  */
-public class SpaceXSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class SpaceXSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double          PREFERRED_WIDTH  = 250;
     private static final double          PREFERRED_HEIGHT = 290;
     private static final double          MINIMUM_WIDTH    = 50;
@@ -280,6 +280,8 @@ public class SpaceXSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         valueText.relocate((width - valueText.getLayoutBounds().getWidth()), 0.58064516 * height);
     }
 
+    @Override public double getPixelsPerUnit() { return size > 0 ? Math.toRadians(Math.abs(angleStep)) * 0.5 * size : Double.NaN; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
@@ -84,7 +84,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Created by hansolo on 19.01.16.
  */
-public class VSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+public class VSkin extends SkinBase<Gauge> implements Skin<Gauge>, ResolutionAwareSkin {
     private static final double             PREFERRED_WIDTH  = 125;
     private static final double             PREFERRED_HEIGHT = 250;
     private static final double             MINIMUM_WIDTH    = 50;
@@ -863,6 +863,8 @@ public class VSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         unitText.relocate(Pos.CENTER_LEFT == knobPosition ? width * 0.6 - unitText.getLayoutBounds().getWidth() : width * 0.4, (height - unitText.getLayoutBounds().getHeight()) * 0.38);
     }
 
+    @Override public double getPixelsPerUnit() { return width > 0 && height > 0 ? Math.toRadians(Math.abs(angleStep)) * Math.max(width, height) : Double.NaN; }
+
     private void resize() {
         width  = getSkinnable().getWidth() - getSkinnable().getInsets().getLeft() - getSkinnable().getInsets().getRight();
         height = getSkinnable().getHeight() - getSkinnable().getInsets().getTop() - getSkinnable().getInsets().getBottom();
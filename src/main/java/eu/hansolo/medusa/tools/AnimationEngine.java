@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class AnimationEngine {
+    private static final int            EASING_TABLE_SIZE = 1024;
+    private static final double[]       EASING_TABLE      = createEasingTable(0.5, 0.4, 0.4, 1.0);
+    private static final int            INITIAL_CAPACITY  = 64;
+    private static final double         MAX_TIME_STEP     = 0.05;
+    private static final double         SPRING_TIME_STEP  = 1.0 / 240.0;
+    private static final long           MAX_SPRING_TIME   = TimeUnit.SECONDS.toNanos(10);
+    private static       double[]       fromValues        = new double[INITIAL_CAPACITY];
+    private static       double[]       toValues          = new double[INITIAL_CAPACITY];
+    private static       long[]         startTimes        = new long[INITIAL_CAPACITY];
+    private static       long[]         durations         = new long[INITIAL_CAPACITY];
+    private static       Target[]       targets           = new Target[INITIAL_CAPACITY];
+    private static       long[]         frameIntervals    = new long[INITIAL_CAPACITY];
+    private static       long[]         lastFrames        = new long[INITIAL_CAPACITY];
+    // Spring state, fromValues holds the position, startTimes the time of the last step and durations the time to stop at the latest
+    private static       boolean[]      springs           = new boolean[INITIAL_CAPACITY];
+    private static       double[]       velocities        = new double[INITIAL_CAPACITY];
+    private static       double[]       masses            = new double[INITIAL_CAPACITY];
+    private static       double[]       dampings          = new double[INITIAL_CAPACITY];
+    private static       double[]       stiffnesses       = new double[INITIAL_CAPACITY];
+    private static       double[]       restThresholds    = new double[INITIAL_CAPACITY];
+    private static       int            noOfSlots         = 0;
+    private static       int            noOfAnimations    = 0;
+    private static       boolean        running           = false;
+    private static final AnimationTimer TIMER             = new AnimationTimer() {
+        @Override public void handle(final long NOW) { onPulse(NOW); }
+    };
+
+
+    // ******************** Constructors **************************************
+    private AnimationEngine() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Animates from the given value to the given value within the given
+     * duration in nanoseconds using the same easing as
+     * Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0). All running animations will be
+     * advanced in one loop per pulse by one shared AnimationTimer where the
+     * state of the animations is kept in primitive arrays, so starting or
+     * retargeting an animation does not create any objects.
+     * If the given slot still belongs to the given target its animation will
+     * be replaced, otherwise a new slot will be used. The returned slot has to
+     * be passed to the next call of animate(), stop() and isRunning().
+     * This method has to be called on the JavaFX application thread.
+     * @param SLOT the slot that was returned by the last call or -1
+     * @param TARGET
+     * @param FROM
+     * @param TO
+     * @param DURATION_NANOS
+     * @return the slot of the animation
+     */
+    public static int animate(final int SLOT, final Target TARGET, final double FROM, final double TO, final long DURATION_NANOS) {
+        return animate(SLOT, TARGET, FROM, TO, DURATION_NANOS, 0);
+    }
+    /**
+     * Same as animate(SLOT, TARGET, FROM, TO, DURATION_NANOS) but the target
+     * will only be updated if at least FRAME_INTERVAL_NANOS passed since its
+     * last update (the last update at the end of the animation will always
+     * be done). This can be used to decimate the frame rate of controls that
+     * are less important.
+     * @param SLOT the slot that was returned by the last call or -1
+     * @param TARGET
+     * @param FROM
+     * @param TO
+     * @param DURATION_NANOS
+     * @param FRAME_INTERVAL_NANOS
+     * @return the slot of the animation
+     */
+    public static int animate(final int SLOT, final Target TARGET, final double FROM, final double TO, final long DURATION_NANOS, final long FRAME_INTERVAL_NANOS) {
+        final int  INDEX = isRunning(SLOT, TARGET) ? SLOT : allocate(TARGET);
+        final long NOW   = System.nanoTime();
+        springs[INDEX]        = false;
+        fromValues[INDEX]     = FROM;
+        toValues[INDEX]       = TO;
+        startTimes[INDEX]     = NOW;
+        durations[INDEX]      = Math.max(1, DURATION_NANOS);
+        frameIntervals[INDEX] = Math.max(0, FRAME_INTERVAL_NANOS);
+        lastFrames[INDEX]     = NOW - frameIntervals[INDEX];
+        startTimer();
+        return INDEX;
+    }
+
+    /**
+     * Moves from the given position to the given target like a mass that
+     * is attached to the target by a damped spring. The position and the
+     * velocity will be integrated on every pulse until the distance to the
+     * target and the velocity are below the given rest threshold, but not
+     * longer than 10 seconds after which the position will be set to the
+     * target, so a weakly damped spring will not keep the timer running.
+     * If the given slot still belongs to the given target the velocity of
+     * the running motion will be kept, so retargeting is smooth and only
+     * costs a few array writes. The returned slot has to be passed to the
+     * next call of spring(), animate(), stop() and isRunning().
+     * This method has to be called on the JavaFX application thread.
+     * @param SLOT the slot that was returned by the last call or -1
+     * @param TARGET
+     * @param POSITION
+     * @param TO
+     * @param MASS
+     * @param DAMPING
+     * @param STIFFNESS
+     * @param REST_THRESHOLD
+     * @return the slot of the motion
+     */
+    public static int spring(final int SLOT, final Target TARGET, final double POSITION, final double TO,
+                             final double MASS, final double DAMPING, final double STIFFNESS, final double REST_THRESHOLD) {
+        return spring(SLOT, TARGET, POSITION, TO, MASS, DAMPING, STIFFNESS, REST_THRESHOLD, 0);
+    }
+    /**
+     * Same as spring(SLOT, TARGET, POSITION, TO, MASS, DAMPING, STIFFNESS, REST_THRESHOLD)
+     * but the motion will only be integrated and the target will only be
+     * updated if at least FRAME_INTERVAL_NANOS passed since the last update.
+     * @param SLOT the slot that was returned by the last call or -1
+     * @param TARGET
+     * @param POSITION
+     * @param TO
+     * @param MASS
+     * @param DAMPING
+     * @param STIFFNESS
+     * @param REST_THRESHOLD
+     * @param FRAME_INTERVAL_NANOS
+     * @return the slot of the motion
+     */
+    public static int spring(final int SLOT, final Target TARGET, final double POSITION, final double TO,
+                             final double MASS, final double DAMPING, final double STIFFNESS, final double REST_THRESHOLD, final long FRAME_INTERVAL_NANOS) {
+        final int INDEX;
+        if (isRunning(SLOT, TARGET)) {
+            INDEX = SLOT;
+            if (!springs[INDEX]) { velocities[INDEX] = 0; }
+        } else {
+            INDEX = allocate(TARGET);
+            velocities[INDEX] = 0;
+            startTimes[INDEX] = System.nanoTime();
+        }
+        springs[INDEX]        = true;
+        durations[INDEX]      = System.nanoTime() + MAX_SPRING_TIME;
+        fromValues[INDEX]     = POSITION;
+        toValues[INDEX]       = TO;
+        masses[INDEX]         = MASS;
+        dampings[INDEX]       = DAMPING;
+        stiffnesses[INDEX]    = STIFFNESS;
+        restThresholds[INDEX] = REST_THRESHOLD;
+        frameIntervals[INDEX] = Math.max(0, FRAME_INTERVAL_NANOS);
+        startTimer();
+        return INDEX;
+    }
+
+    /**
+     * Stops the animation in the given slot if it belongs to the given target.
+     * The target will not be notified.
+     * @param SLOT
+     * @param TARGET
+     */
+    public static void stop(final int SLOT, final Target TARGET) {
+        if (isRunning(SLOT, TARGET)) { release(SLOT); }
+    }
+
+    /**
+     * Returns true if the given slot contains a running animation of the given target.
+     * @param SLOT
+     * @param TARGET
+     * @return true if the given slot contains a running animation of the given target
+     */
+    public static boolean isRunning(final int SLOT, final Target TARGET) {
+        return SLOT >= 0 && SLOT < noOfSlots && null != TARGET && targets[SLOT] == TARGET;
+    }
+
+    /**
+     * Returns the number of running animations.
+     * @return the number of running animations
+     */
+    public static int getNoOfAnimations() { return noOfAnimations; }
+
+    /**
+     * Returns the eased fraction for the given linear fraction (0.0 - 1.0)
+     * of the animation.
+     * @param FRACTION
+     * @return the eased fraction
+     */
+    public static double ease(final double FRACTION) {
+        if (FRACTION <= 0) return 0;
+        if (FRACTION >= 1) return 1;
+        final double POSITION = FRACTION * (EASING_TABLE_SIZE - 1);
+        final int    INDEX    = (int) POSITION;
+        final double WEIGHT   = POSITION - INDEX;
+        return EASING_TABLE[INDEX] + (EASING_TABLE[INDEX + 1] - EASING_TABLE[INDEX]) * WEIGHT;
+    }
+
+    private static void onPulse(final long NOW) {
+        for (int i = 0 ; i < noOfSlots ; i++) {
+            final Target TARGET = targets[i];
+            if (null == TARGET) continue;
+            if (springs[i]) {
+                if (NOW - startTimes[i] >= frameIntervals[i]) { stepSpring(i, TARGET, NOW); }
+                continue;
+            }
+            final double FRACTION = Math.max(0, NOW - startTimes[i]) / (double) durations[i];
+            if (FRACTION >= 1) {
+                // Release the slot before notifying the target so that it can start a new animation
+                final double TO = toValues[i];
+                release(i);
+                TARGET.update(TO);
+                TARGET.finished();
+            } else if (NOW - lastFrames[i] >= frameIntervals[i]) {
+                lastFrames[i] = NOW;
+                TARGET.update(fromValues[i] + (toValues[i] - fromValues[i]) * ease(FRACTION));
+            }
+        }
+        if (0 == noOfAnimations) {
+            running = false;
+            TIMER.stop();
+        }
+    }
+
+    private static void stepSpring(final int INDEX, final Target TARGET, final long NOW) {
+        final double MAX_TIME = Math.max(MAX_TIME_STEP, 2 * frameIntervals[INDEX] / 1_000_000_000.0);
+        double       time     = Math.min(MAX_TIME, Math.max(0, NOW - startTimes[INDEX]) / 1_000_000_000.0);
+        double       position = fromValues[INDEX];
+        double       velocity = velocities[INDEX];
+        final double TO       = toValues[INDEX];
+        final double MASS     = masses[INDEX];
+        final double DAMPING  = dampings[INDEX];
+        final double STIFF    = stiffnesses[INDEX];
+        // Semi implicit euler with fixed sub steps to stay stable for stiff springs
+        while (time > 0) {
+            final double DT = Math.min(SPRING_TIME_STEP, time);
+            velocity += (-STIFF * (position - TO) - DAMPING * velocity) / MASS * DT;
+            position += velocity * DT;
+            time     -= DT;
+        }
+        startTimes[INDEX] = NOW;
+        if ((Math.abs(position - TO) < restThresholds[INDEX] && Math.abs(velocity) < restThresholds[INDEX]) || NOW - durations[INDEX] >= 0) {
+            release(INDEX);
+            TARGET.update(TO);
+            TARGET.finished();
+        } else {
+            fromValues[INDEX] = position;
+            velocities[INDEX] = velocity;
+            TARGET.update(position);
+        }
+    }
+
+    private static void startTimer() {
+        if (running) return;
+        running = true;
+        TIMER.start();
+    }
+
+    private static int allocate(final Target TARGET) {
+        int index = -1;
+        for (int i = 0 ; i < noOfSlots ; i++) {
+            if (null == targets[i]) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            if (noOfSlots == targets.length) {
+                final int CAPACITY = targets.length << 1;
+                fromValues     = Arrays.copyOf(fromValues, CAPACITY);
+                toValues       = Arrays.copyOf(toValues, CAPACITY);
+                startTimes     = Arrays.copyOf(startTimes, CAPACITY);
+                durations      = Arrays.copyOf(durations, CAPACITY);
+                targets        = Arrays.copyOf(targets, CAPACITY);
+                frameIntervals = Arrays.copyOf(frameIntervals, CAPACITY);
+                lastFrames     = Arrays.copyOf(lastFrames, CAPACITY);
+                springs        = Arrays.copyOf(springs, CAPACITY);
+                velocities     = Arrays.copyOf(velocities, CAPACITY);
+                masses         = Arrays.copyOf(masses, CAPACITY);
+                dampings       = Arrays.copyOf(dampings, CAPACITY);
+                stiffnesses    = Arrays.copyOf(stiffnesses, CAPACITY);
+                restThresholds = Arrays.copyOf(restThresholds, CAPACITY);
+            }
+            index = noOfSlots++;
+        }
+        targets[index] = TARGET;
+        noOfAnimations++;
+        return index;
+    }
+
+    private static void release(final int SLOT) {
+        targets[SLOT] = null;
+        noOfAnimations--;
+        while (noOfSlots > 0 && null == targets[noOfSlots - 1]) { noOfSlots--; }
+    }
+
+    private static double[] createEasingTable(final double X1, final double Y1, final double X2, final double Y2) {
+        final double[] TABLE = new double[EASING_TABLE_SIZE];
+        for (int i = 0 ; i < EASING_TABLE_SIZE ; i++) {
+            final double X = i / (double) (EASING_TABLE_SIZE - 1);
+            // Find the curve parameter t for x by bisection (x(t) is monotonic for control points within 0..1)
+            double lower = 0;
+            double upper = 1;
+            double t     = X;
+            for (int j = 0 ; j < 32 ; j++) {
+                t = (lower + upper) * 0.5;
+                if (bezier(t, X1, X2) < X) { lower = t; } else { upper = t; }
+            }
+            TABLE[i] = bezier(t, Y1, Y2);
+        }
+        TABLE[0]                     = 0;
+        TABLE[EASING_TABLE_SIZE - 1] = 1;
+        return TABLE;
+    }
+
+    private static double bezier(final double T, final double P1, final double P2) {
+        final double U = 1 - T;
+        return 3 * U * U * T * P1 + 3 * U * T * T * P2 + T * T * T;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    public interface Target {
+        /**
+         * Will be called on every pulse with the current value of the animation.
+         * @param VALUE
+         */
+        void update(double VALUE);
+
+        /**
+         * Will be called after the last update when the animation reached its end value.
+         */
+        void finished();
+    }
+}
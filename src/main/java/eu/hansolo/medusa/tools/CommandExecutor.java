@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import eu.hansolo.medusa.Command;
+import javafx.application.Platform;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class CommandExecutor {
+    public enum Overflow { BLOCK, DISCARD }
+
+    private static       CommandExecutor                defaultExecutor;
+    private        final Map<Object, Lane>              lanes;
+    private        final ThreadPoolExecutor             workers;
+    private        final ScheduledThreadPoolExecutor    watchdog;
+    private        final int                            capacity;
+    private              int                            queueDepth;
+    private volatile     Overflow                       overflow;
+    private volatile     long                           defaultTimeout;
+    private volatile     BiConsumer<Command, Throwable> onFailure;
+    private volatile     boolean                        shutdown;
+    private              boolean                        shared;
+    private        final LongAdder                      noOfExecuted;
+    private        final LongAdder                      noOfFailures;
+    private        final LongAdder                      noOfTimeouts;
+    private        final LongAdder                      noOfDiscarded;
+    private        final LongAdder                      totalQueueTime;
+    private        final LongAdder                      totalExecutionTime;
+    private        final AtomicLong                     maxQueueTime;
+    private        final AtomicLong                     maxExecutionTime;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Executes commands on a fixed number of worker threads instead of the
+     * JavaFX application thread. Commands that are executed with the same
+     * key (e.g. the clock that triggered an alarm) will be executed one
+     * after the other in the order they have been submitted, commands with
+     * different keys will be executed in parallel.
+     * The number of queued commands is limited by the given capacity, if
+     * the queue is full the overflow policy decides if the command will be
+     * discarded (DISCARD, default) or if the caller will be blocked until
+     * there is space (BLOCK). The JavaFX application thread will never be
+     * blocked, commands it submits to a full queue will always be discarded.
+     * @param NO_OF_THREADS
+     * @param CAPACITY
+     */
+    public CommandExecutor(final int NO_OF_THREADS, final int CAPACITY) {
+        if (NO_OF_THREADS < 1) { throw new IllegalArgumentException("Number of threads must be greater than 0"); }
+        if (CAPACITY < 1) { throw new IllegalArgumentException("Capacity must be greater than 0"); }
+        lanes              = new HashMap<>();
+        workers            = new ThreadPoolExecutor(NO_OF_THREADS, NO_OF_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), Helper.getThreadFactory("AlarmCommand", true));
+        watchdog           = new ScheduledThreadPoolExecutor(1, Helper.getThreadFactory("AlarmCommandWatchdog", true));
+        capacity           = CAPACITY;
+        overflow           = Overflow.DISCARD;
+        defaultTimeout     = 0;
+        noOfExecuted       = new LongAdder();
+        noOfFailures       = new LongAdder();
+        noOfTimeouts       = new LongAdder();
+        noOfDiscarded      = new LongAdder();
+        totalQueueTime     = new LongAdder();
+        totalExecutionTime = new LongAdder();
+        maxQueueTime       = new AtomicLong(0);
+        maxExecutionTime   = new AtomicLong(0);
+        workers.allowCoreThreadTimeOut(true);
+        watchdog.setRemoveOnCancelPolicy(true);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the executor that will be used by all clocks that don't
+     * define their own executor. It uses 2 threads and a capacity of 1024 commands.
+     * If the default executor has been shut down a new one will be created.
+     * @return the executor that will be used by default
+     */
+    public static synchronized CommandExecutor getDefault() {
+        if (null == defaultExecutor || defaultExecutor.isShutdown()) {
+            defaultExecutor        = new CommandExecutor(2, 1024);
+            defaultExecutor.shared = true;
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Returns true if this executor has been created by getDefault().
+     * @return true if this executor has been created by getDefault()
+     */
+    public boolean isDefault() { return shared; }
+
+    /**
+     * Executes the given command after all commands that have been
+     * submitted with the same key before, using the default timeout.
+     * @param KEY
+     * @param COMMAND
+     * @return false if the command was discarded
+     */
+    public boolean execute(final Object KEY, final Command COMMAND) { return execute(KEY, COMMAND, 0); }
+    /**
+     * Executes the given command after all commands that have been
+     * submitted with the same key before. If the command takes longer
+     * than the given timeout in milliseconds its thread will be interrupted
+     * and the next command with the same key will be executed. Commands
+     * that ignore the interruption keep on running but don't block the
+     * commands with the same key any longer.
+     * A timeout of 0 uses the default timeout of the executor.
+     * Commands that are submitted after the executor has been shut down
+     * will be discarded.
+     * @param KEY
+     * @param COMMAND
+     * @param TIMEOUT
+     * @return false if the command was discarded
+     */
+    public boolean execute(final Object KEY, final Command COMMAND, final long TIMEOUT) {
+        final Task TASK = new Task(COMMAND, TimeUnit.MILLISECONDS.toNanos(TIMEOUT > 0 ? TIMEOUT : defaultTimeout));
+        synchronized (lanes) {
+            if (shutdown) {
+                noOfDiscarded.increment();
+                return false;
+            }
+            while (queueDepth >= capacity) {
+                if (Overflow.DISCARD == overflow || Platform.isFxApplicationThread()) {
+                    noOfDiscarded.increment();
+                    return false;
+                }
+                try {
+                    lanes.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    noOfDiscarded.increment();
+                    return false;
+                }
+                if (shutdown) {
+                    noOfDiscarded.increment();
+                    return false;
+                }
+            }
+            Lane lane = lanes.get(KEY);
+            if (null == lane) {
+                lane = new Lane(KEY);
+                lanes.put(KEY, lane);
+            }
+            lane.tasks.add(TASK);
+            queueDepth++;
+            TASK.submitted = System.nanoTime();
+            if (!lane.active) {
+                lane.active = true;
+                final Lane LANE = lane;
+                workers.execute(() -> drain(LANE));
+            }
+        }
+        return true;
+    }
+
+    public Overflow getOverflow() { return overflow; }
+    public void setOverflow(final Overflow OVERFLOW) { overflow = null == OVERFLOW ? Overflow.DISCARD : OVERFLOW; }
+
+    /**
+     * Returns the timeout in milliseconds that will be used for commands
+     * without a timeout. A value of 0 means no timeout.
+     * @return the default timeout in milliseconds
+     */
+    public long getDefaultTimeout() { return TimeUnit.NANOSECONDS.toMillis(defaultTimeout); }
+    public void setDefaultTimeout(final long TIMEOUT) { defaultTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(0, TIMEOUT)); }
+
+    /**
+     * Defines a consumer that will be called on the worker thread with the
+     * command and the throwable if a command failed or timed out
+     * (java.util.concurrent.TimeoutException).
+     * @param CONSUMER
+     */
+    public void setOnFailure(final BiConsumer<Command, Throwable> CONSUMER) { onFailure = CONSUMER; }
+
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Returns the number of commands that are waiting to be executed.
+     * @return the number of commands that are waiting to be executed
+     */
+    public int getQueueDepth() { synchronized (lanes) { return queueDepth; } }
+
+    public long getNoOfExecuted() { return noOfExecuted.sum(); }
+
+    /**
+     * Returns the number of commands that threw an exception.
+     * @return the number of commands that threw an exception
+     */
+    public long getNoOfFailures() { return noOfFailures.sum(); }
+
+    public long getNoOfTimeouts() { return noOfTimeouts.sum(); }
+
+    public long getNoOfDiscarded() { return noOfDiscarded.sum(); }
+
+    /**
+     * Returns the average time in nanoseconds commands have been waiting
+     * in the queue before they have been executed.
+     * @return the average time in nanoseconds commands have been waiting
+     */
+    public long getAverageQueueTime() { return average(totalQueueTime); }
+
+    public long getMaxQueueTime() { return maxQueueTime.get(); }
+
+    /**
+     * Returns the average time in nanoseconds the execution of a command took.
+     * @return the average time in nanoseconds the execution of a command took
+     */
+    public long getAverageExecutionTime() { return average(totalExecutionTime); }
+
+    public long getMaxExecutionTime() { return maxExecutionTime.get(); }
+
+    public void resetMetrics() {
+        noOfExecuted.reset();
+        noOfFailures.reset();
+        noOfTimeouts.reset();
+        noOfDiscarded.reset();
+        totalQueueTime.reset();
+        totalExecutionTime.reset();
+        maxQueueTime.set(0);
+        maxExecutionTime.set(0);
+    }
+
+    /**
+     * Executes all queued commands and stops the worker threads afterwards.
+     * Commands that are submitted after calling this method will be discarded.
+     */
+    public void shutdown() {
+        synchronized (lanes) {
+            shutdown = true;
+            lanes.notifyAll();
+            // Otherwise the last lane will stop the threads when it is empty
+            if (lanes.isEmpty()) { stopThreads(); }
+        }
+    }
+
+    public boolean isShutdown() { return shutdown; }
+
+    private void drain(final Lane LANE) {
+        while (true) {
+            final Task TASK;
+            synchronized (lanes) {
+                TASK = LANE.tasks.poll();
+                if (null == TASK) {
+                    LANE.active = false;
+                    lanes.remove(LANE.key);
+                    if (shutdown && lanes.isEmpty()) { stopThreads(); }
+                    return;
+                }
+                queueDepth--;
+                lanes.notifyAll();
+            }
+            if (!run(LANE, TASK)) return;
+        }
+    }
+
+    /**
+     * Executes the given task and returns false if the task timed out
+     * which means the watchdog already handed the lane to another thread.
+     */
+    private boolean run(final Lane LANE, final Task TASK) {
+        final long START = System.nanoTime();
+        TASK.thread = Thread.currentThread();
+        record(START - TASK.submitted, totalQueueTime, maxQueueTime);
+        ScheduledFuture<?> timeout = null;
+        if (TASK.timeout > 0) { timeout = watchdog.schedule(() -> onTimeout(LANE, TASK), TASK.timeout, TimeUnit.NANOSECONDS); }
+        try {
+            TASK.command.execute();
+        } catch (Throwable t) {
+            noOfFailures.increment();
+            fireFailure(TASK.command, t);
+        } finally {
+            if (null != timeout) { timeout.cancel(false); }
+        }
+        record(System.nanoTime() - START, totalExecutionTime, maxExecutionTime);
+        noOfExecuted.increment();
+        synchronized (TASK) {
+            TASK.finished = true;
+            if (TASK.timedOut) {
+                // Clear the interrupt of the watchdog before the thread returns to the pool
+                Thread.interrupted();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void onTimeout(final Lane LANE, final Task TASK) {
+        synchronized (TASK) {
+            if (TASK.finished) return;
+            TASK.timedOut = true;
+            // Interrupt while holding the lock so that run() reliably clears it before the thread returns to the pool
+            TASK.thread.interrupt();
+        }
+        noOfTimeouts.increment();
+        fireFailure(TASK.command, new TimeoutException("Command timed out after " + TimeUnit.NANOSECONDS.toMillis(TASK.timeout) + " ms"));
+        try {
+            workers.execute(() -> drain(LANE));
+        } catch (RejectedExecutionException e) {
+            // Only happens if the worker threads have been stopped, the remaining commands can't be executed any more
+            synchronized (lanes) {
+                final int NO_OF_TASKS = LANE.tasks.size();
+                LANE.tasks.clear();
+                LANE.active = false;
+                lanes.remove(LANE.key);
+                queueDepth -= NO_OF_TASKS;
+                noOfDiscarded.add(NO_OF_TASKS);
+                lanes.notifyAll();
+            }
+        }
+    }
+
+    private void stopThreads() {
+        workers.shutdown();
+        watchdog.shutdown();
+    }
+
+    private void fireFailure(final Command COMMAND, final Throwable THROWABLE) {
+        final BiConsumer<Command, Throwable> CONSUMER = onFailure;
+        if (null != CONSUMER) { CONSUMER.accept(COMMAND, THROWABLE); }
+    }
+
+    private static void record(final long DURATION, final LongAdder TOTAL, final AtomicLong MAX) {
+        TOTAL.add(DURATION);
+        MAX.accumulateAndGet(DURATION, Math::max);
+    }
+
+    private long average(final LongAdder TOTAL) {
+        final long COUNT = noOfExecuted.sum();
+        return 0 == COUNT ? 0 : TOTAL.sum() / COUNT;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Lane {
+        private final Object      key;
+        private final Queue<Task> tasks;
+        private       boolean     active;
+
+        Lane(final Object KEY) {
+            key   = KEY;
+            tasks = new ArrayDeque<>();
+        }
+    }
+
+    private static class Task {
+        private final    Command command;
+        private final    long    timeout;
+        private          long    submitted;
+        private volatile Thread  thread;
+        private          boolean finished;
+        private          boolean timedOut;
+
+        Task(final Command COMMAND, final long TIMEOUT) {
+            command = COMMAND;
+            timeout = TIMEOUT;
+        }
+    }
+}
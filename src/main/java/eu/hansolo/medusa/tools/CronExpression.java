@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import eu.hansolo.medusa.AlarmRule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class CronExpression implements AlarmRule {
+    private static final String[] MONTH_NAMES = { "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC" };
+    private static final String[] DAY_NAMES   = { "SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT" };
+    private static final int      MAX_YEARS   = 8;
+    private        final String   expression;
+    private        final long     seconds;
+    private        final long     minutes;
+    private        final long     hours;
+    private        final long     daysOfMonth;
+    private        final long     months;
+    private              long     daysOfWeek;
+    private              boolean  lastDayOfMonth;
+    private              int      lastDaysOfWeek;
+    private        final int[]    nthDaysOfWeek;
+    private        final boolean  dayOfMonthRestricted;
+    private        final boolean  dayOfWeekRestricted;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Compiles the given cron expression into bit masks that will be used
+     * to compute the next occurrence. The expression consists of 5 fields
+     * (minute hour day-of-month month day-of-week) or 6 fields where the
+     * first field defines the second. Each field supports *, ?, lists (1,15),
+     * ranges (MON-FRI), steps (0/15, *&#47;5) and the names of months and days.
+     * The day-of-month field also supports L for the last day of the month,
+     * the day-of-week field supports 5L for the last friday and 1#2 for the
+     * second monday of the month. Sunday is 0 or 7.
+     * If both day fields are restricted a day matches if one of them matches.
+     * @param EXPRESSION
+     */
+    public CronExpression(final String EXPRESSION) {
+        expression    = EXPRESSION.trim();
+        nthDaysOfWeek = new int[7];
+        final String[] FIELDS = expression.toUpperCase(Locale.US).split("\\s+");
+        if (FIELDS.length != 5 && FIELDS.length != 6) { throw new IllegalArgumentException("Cron expression needs 5 or 6 fields: " + EXPRESSION); }
+        final int OFFSET = FIELDS.length - 5;
+        seconds              = 0 == OFFSET ? 1L : parseField(FIELDS[0], 0, 59, null);
+        minutes              = parseField(FIELDS[OFFSET], 0, 59, null);
+        hours                = parseField(FIELDS[OFFSET + 1], 0, 23, null);
+        dayOfMonthRestricted = !isWildcard(FIELDS[OFFSET + 2]);
+        daysOfMonth          = parseDaysOfMonth(FIELDS[OFFSET + 2]);
+        months               = parseField(FIELDS[OFFSET + 3], 1, 12, MONTH_NAMES);
+        dayOfWeekRestricted  = !isWildcard(FIELDS[OFFSET + 4]);
+        parseDaysOfWeek(FIELDS[OFFSET + 4]);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns a cron expression that occurs at the given time of the
+     * days that match the given day-of-month and day-of-week fields.
+     * @param TIME
+     * @param DAY_OF_MONTH
+     * @param DAY_OF_WEEK
+     * @return a cron expression that occurs at the given time of the matching days
+     */
+    public static CronExpression at(final LocalTime TIME, final String DAY_OF_MONTH, final String DAY_OF_WEEK) {
+        return new CronExpression(String.join(" ", Integer.toString(TIME.getSecond()), Integer.toString(TIME.getMinute()), Integer.toString(TIME.getHour()), DAY_OF_MONTH, "*", DAY_OF_WEEK));
+    }
+
+    public String getExpression() { return expression; }
+
+    @Override public ZonedDateTime getNextTime(final ZonedDateTime FROM) {
+        LocalDateTime time = FROM.toLocalDateTime();
+        if (time.getNano() > 0) { time = time.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1); }
+        final int MAX_YEAR = time.getYear() + MAX_YEARS;
+        while (time.getYear() <= MAX_YEAR) {
+            if (!isSet(months, time.getMonthValue())) {
+                time = time.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+                continue;
+            }
+            if (!matchesDay(time.toLocalDate())) {
+                time = time.toLocalDate().plusDays(1).atStartOfDay();
+                continue;
+            }
+            int hour = nextSetBit(hours, time.getHour());
+            if (hour < 0) {
+                time = time.toLocalDate().plusDays(1).atStartOfDay();
+                continue;
+            }
+            if (hour != time.getHour()) { time = time.withHour(hour).withMinute(0).withSecond(0); }
+            int minute = nextSetBit(minutes, time.getMinute());
+            if (minute < 0) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                continue;
+            }
+            if (minute != time.getMinute()) { time = time.withMinute(minute).withSecond(0); }
+            int second = nextSetBit(seconds, time.getSecond());
+            if (second < 0) {
+                time = time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+                continue;
+            }
+            time = time.withSecond(second);
+            // Local times in a gap of the zone will be moved forward by the length of the gap
+            final ZonedDateTime NEXT = ZonedDateTime.of(time, FROM.getZone());
+            if (!NEXT.isBefore(FROM)) return NEXT;
+            time = time.plusSeconds(1);
+        }
+        return null;
+    }
+
+    @Override public String toString() { return expression; }
+
+    private boolean matchesDay(final LocalDate DATE) {
+        final boolean DAY_OF_MONTH = isSet(daysOfMonth, DATE.getDayOfMonth()) || (lastDayOfMonth && DATE.getDayOfMonth() == DATE.lengthOfMonth());
+        final int     DAY_OF_WEEK  = DATE.getDayOfWeek().getValue() % 7;
+        final boolean DAY_IN_MONTH = isSet(daysOfWeek, DAY_OF_WEEK) ||
+                                     ((lastDaysOfWeek & (1 << DAY_OF_WEEK)) != 0 && DATE.getDayOfMonth() + 7 > DATE.lengthOfMonth()) ||
+                                     (nthDaysOfWeek[DAY_OF_WEEK] & (1 << ((DATE.getDayOfMonth() - 1) / 7 + 1))) != 0;
+        if (dayOfMonthRestricted && dayOfWeekRestricted) { return DAY_OF_MONTH || DAY_IN_MONTH; }
+        if (dayOfWeekRestricted) { return DAY_IN_MONTH; }
+        return DAY_OF_MONTH;
+    }
+
+    private long parseDaysOfMonth(final String FIELD) {
+        long mask = 0;
+        for (String part : FIELD.split(",")) {
+            if ("L".equals(part)) {
+                lastDayOfMonth = true;
+            } else {
+                mask |= parseField(part, 1, 31, null);
+            }
+        }
+        return mask;
+    }
+
+    private void parseDaysOfWeek(final String FIELD) {
+        for (String part : FIELD.split(",")) {
+            if (part.endsWith("L")) {
+                lastDaysOfWeek |= 1 << (parseValue(part.substring(0, part.length() - 1), 0, 7, DAY_NAMES) % 7);
+            } else if (part.contains("#")) {
+                final String[] PARTS   = part.split("#");
+                final int      DAY     = parseValue(PARTS[0], 0, 7, DAY_NAMES) % 7;
+                final int      ORDINAL = parseValue(PARTS[1], 1, 5, null);
+                nthDaysOfWeek[DAY] |= 1 << ORDINAL;
+            } else {
+                long mask = parseField(part, 0, 7, DAY_NAMES);
+                if (isSet(mask, 7)) { mask |= 1L; }
+                daysOfWeek |= mask & 0x7F;
+            }
+        }
+    }
+
+    private static boolean isWildcard(final String FIELD) { return "*".equals(FIELD) || "?".equals(FIELD); }
+
+    private static long parseField(final String FIELD, final int MIN, final int MAX, final String[] NAMES) {
+        long mask = 0;
+        for (String part : FIELD.split(",")) {
+            int    step  = 1;
+            String range = part;
+            int    slash = part.indexOf('/');
+            if (slash >= 0) {
+                step  = parseValue(part.substring(slash + 1), 1, MAX - MIN + 1, null);
+                range = part.substring(0, slash);
+            }
+            int from;
+            int to;
+            if (isWildcard(range)) {
+                from = MIN;
+                to   = MAX;
+            } else {
+                int dash = range.indexOf('-');
+                if (dash > 0) {
+                    from = parseValue(range.substring(0, dash), MIN, MAX, NAMES);
+                    to   = parseValue(range.substring(dash + 1), MIN, MAX, NAMES);
+                    if (to < from) { throw new IllegalArgumentException("Invalid range in cron field: " + part); }
+                } else {
+                    from = parseValue(range, MIN, MAX, NAMES);
+                    to   = slash >= 0 ? MAX : from;
+                }
+            }
+            for (int i = from ; i <= to ; i += step) { mask |= 1L << i; }
+        }
+        return mask;
+    }
+
+    private static int parseValue(final String VALUE, final int MIN, final int MAX, final String[] NAMES) {
+        int value = -1;
+        if (null != NAMES) {
+            for (int i = 0 ; i < NAMES.length ; i++) {
+                if (NAMES[i].equals(VALUE)) {
+                    value = i + (MIN > 0 ? MIN : 0);
+                    break;
+                }
+            }
+        }
+        if (value < 0) {
+            try {
+                value = Integer.parseInt(VALUE);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value in cron field: " + VALUE);
+            }
+        }
+        if (value < MIN || value > MAX) { throw new IllegalArgumentException("Value " + value + " not in range of " + MIN + " - " + MAX); }
+        return value;
+    }
+
+    private static boolean isSet(final long MASK, final int INDEX) { return (MASK & (1L << INDEX)) != 0; }
+
+    private static int nextSetBit(final long MASK, final int FROM) {
+        final long REMAINING = MASK & (-1L << FROM);
+        return 0 == REMAINING ? -1 : Long.numberOfTrailingZeros(REMAINING);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class Downsampler {
+    public enum Mode { LAST, MIN, MAX, MEAN, MIN_MAX }
+
+    private final Mode    mode;
+    private final long    bucketDuration;
+    private       boolean bucketOpen;
+    private       long    bucketStart;
+    private       double  bucketLast;
+    private       double  bucketMin;
+    private       double  bucketMax;
+    private       double  bucketSum;
+    private       long    bucketCount;
+    private       double  result;
+    private       double  extremeMin;
+    private       double  extremeMax;
+    private       long    noOfSamples;
+    private       long    noOfBuckets;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Reduces a stream of values to one value per time bucket. The values
+     * can be added from any thread without creating objects. The result of
+     * each bucket depends on the given mode where MIN_MAX will return the
+     * extreme of the bucket that is farther away from the last result which
+     * preserves peaks in both directions.
+     * Independent of the mode the true minimum and maximum of all added
+     * values will be tracked until resetExtremes() will be called.
+     * @param MODE
+     * @param BUCKET_DURATION_MS
+     */
+    public Downsampler(final Mode MODE, final long BUCKET_DURATION_MS) {
+        if (BUCKET_DURATION_MS <= 0) { throw new IllegalArgumentException("Bucket duration must be greater than 0"); }
+        mode           = MODE;
+        bucketDuration = TimeUnit.MILLISECONDS.toNanos(BUCKET_DURATION_MS);
+        result         = Double.NaN;
+        resetExtremes();
+    }
+
+
+    // ******************** Methods *******************************************
+    public Mode getMode() { return mode; }
+
+    /**
+     * Returns the duration of one bucket in milliseconds.
+     * @return the duration of one bucket in milliseconds
+     */
+    public long getBucketDuration() { return TimeUnit.NANOSECONDS.toMillis(bucketDuration); }
+
+    /**
+     * Adds the given value that was measured at the given time in
+     * nanoseconds (System.nanoTime()) to the current bucket. If the current
+     * bucket expired it will be closed before the value is added to a new bucket.
+     * @param VALUE
+     * @param NANO_TIME
+     * @return true if a bucket was closed and a new result is available
+     */
+    public synchronized boolean add(final double VALUE, final long NANO_TIME) {
+        final boolean CLOSED = closeIfExpired(NANO_TIME);
+        if (bucketOpen) {
+            if (VALUE < bucketMin) { bucketMin = VALUE; }
+            if (VALUE > bucketMax) { bucketMax = VALUE; }
+            bucketSum += VALUE;
+            bucketCount++;
+        } else {
+            bucketOpen  = true;
+            bucketStart = NANO_TIME;
+            bucketMin   = VALUE;
+            bucketMax   = VALUE;
+            bucketSum   = VALUE;
+            bucketCount = 1;
+        }
+        bucketLast = VALUE;
+        if (VALUE < extremeMin) { extremeMin = VALUE; }
+        if (VALUE > extremeMax) { extremeMax = VALUE; }
+        noOfSamples++;
+        return CLOSED;
+    }
+
+    /**
+     * Closes the current bucket if it expired at the given time in
+     * nanoseconds (System.nanoTime()).
+     * @param NANO_TIME
+     * @return true if a bucket was closed and a new result is available
+     */
+    public synchronized boolean flush(final long NANO_TIME) { return closeIfExpired(NANO_TIME); }
+
+    /**
+     * Returns true if the current bucket contains values that are not yet
+     * reflected in the result.
+     * @return true if the current bucket contains values
+     */
+    public synchronized boolean isBucketOpen() { return bucketOpen; }
+
+    /**
+     * Returns the result of the last closed bucket or Double.NaN if no
+     * bucket was closed so far.
+     * @return the result of the last closed bucket
+     */
+    public synchronized double getResult() { return result; }
+
+    /**
+     * Returns the smallest value that was added since the last call of resetExtremes().
+     * @return the smallest value that was added since the last reset
+     */
+    public synchronized double getExtremeMin() { return extremeMin; }
+
+    /**
+     * Returns the biggest value that was added since the last call of resetExtremes().
+     * @return the biggest value that was added since the last reset
+     */
+    public synchronized double getExtremeMax() { return extremeMax; }
+
+    public synchronized void resetExtremes() {
+        extremeMin = Double.POSITIVE_INFINITY;
+        extremeMax = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Returns the number of values that have been added.
+     * @return the number of values that have been added
+     */
+    public synchronized long getNoOfSamples() { return noOfSamples; }
+
+    /**
+     * Returns the number of buckets that have been closed.
+     * @return the number of buckets that have been closed
+     */
+    public synchronized long getNoOfBuckets() { return noOfBuckets; }
+
+    private boolean closeIfExpired(final long NANO_TIME) {
+        if (!bucketOpen || NANO_TIME - bucketStart < bucketDuration) return false;
+        switch (mode) {
+            case MIN : result = bucketMin; break;
+            case MAX : result = bucketMax; break;
+            case MEAN: result = bucketSum / bucketCount; break;
+            case MIN_MAX:
+                final double REFERENCE = Double.isNaN(result) ? bucketLast : result;
+                result = Math.abs(bucketMax - REFERENCE) >= Math.abs(bucketMin - REFERENCE) ? bucketMax : bucketMin;
+                break;
+            case LAST:
+            default  : result = bucketLast; break;
+        }
+        bucketOpen = false;
+        noOfBuckets++;
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class EmaFilter implements ValueFilter {
+    private final double  alpha;
+    private       double  average;
+    private       boolean initialized;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Exponential moving average filter. The given alpha in the range
+     * of 0 - 1 defines the weight of a new value, smaller values lead to
+     * a smoother but slower result.
+     * @param ALPHA
+     */
+    public EmaFilter(final double ALPHA) {
+        if (ALPHA <= 0 || ALPHA > 1) { throw new IllegalArgumentException("Alpha must be in the range of (0, 1]"); }
+        alpha       = ALPHA;
+        initialized = false;
+    }
+
+
+    // ******************** Methods *******************************************
+    public double getAlpha() { return alpha; }
+
+    @Override public double filter(final double VALUE) {
+        if (initialized) {
+            average += alpha * (VALUE - average);
+        } else {
+            average     = VALUE;
+            initialized = true;
+        }
+        return average;
+    }
+
+    @Override public void reset() { initialized = false; }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class KalmanFilter implements ValueFilter {
+    private final double  processNoise;
+    private final double  measurementNoise;
+    private       double  estimate;
+    private       double  errorCovariance;
+    private       boolean initialized;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * One dimensional Kalman filter for a value that is expected to be
+     * constant between measurements. The process noise defines how fast the
+     * real value can change, the measurement noise defines how noisy the
+     * measured values are. A higher ratio of measurement noise to process
+     * noise leads to a smoother result.
+     * @param PROCESS_NOISE
+     * @param MEASUREMENT_NOISE
+     */
+    public KalmanFilter(final double PROCESS_NOISE, final double MEASUREMENT_NOISE) {
+        if (PROCESS_NOISE < 0 || MEASUREMENT_NOISE <= 0) { throw new IllegalArgumentException("Noise values must be positive"); }
+        processNoise     = PROCESS_NOISE;
+        measurementNoise = MEASUREMENT_NOISE;
+        initialized      = false;
+    }
+
+
+    // ******************** Methods *******************************************
+    public double getProcessNoise() { return processNoise; }
+
+    public double getMeasurementNoise() { return measurementNoise; }
+
+    @Override public double filter(final double VALUE) {
+        if (!initialized) {
+            estimate        = VALUE;
+            errorCovariance = measurementNoise;
+            initialized     = true;
+            return estimate;
+        }
+        // Predict
+        errorCovariance += processNoise;
+        // Update
+        final double GAIN = errorCovariance / (errorCovariance + measurementNoise);
+        estimate        += GAIN * (VALUE - estimate);
+        errorCovariance *= (1 - GAIN);
+        return estimate;
+    }
+
+    @Override public void reset() { initialized = false; }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class MedianFilter implements ValueFilter {
+    private final double[] window;
+    private final double[] sorted;
+    private       int      head;
+    private       int      size;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Sliding median filter over the last WINDOW_SIZE values. It removes
+     * single spikes without smearing steps in the signal. The window is
+     * kept sorted in a primitive array, so each value costs O(WINDOW_SIZE)
+     * without creating objects.
+     * @param WINDOW_SIZE
+     */
+    public MedianFilter(final int WINDOW_SIZE) {
+        if (WINDOW_SIZE < 1) { throw new IllegalArgumentException("Window size must be greater than 0"); }
+        window = new double[WINDOW_SIZE];
+        sorted = new double[WINDOW_SIZE];
+        head   = 0;
+        size   = 0;
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getWindowSize() { return window.length; }
+
+    @Override public double filter(final double VALUE) {
+        if (size == window.length) {
+            // Remove the oldest value from the sorted array
+            final double OLDEST = window[head];
+            int index = 0;
+            while (index < size - 1 && Double.compare(sorted[index], OLDEST) != 0) { index++; }
+            System.arraycopy(sorted, index + 1, sorted, index, size - index - 1);
+            size--;
+        }
+        window[head] = VALUE;
+        head = (head + 1) % window.length;
+
+        // Insert the new value into the sorted array
+        int index = size;
+        while (index > 0 && sorted[index - 1] > VALUE) {
+            sorted[index] = sorted[index - 1];
+            index--;
+        }
+        sorted[index] = VALUE;
+        size++;
+
+        final int MIDDLE = size >> 1;
+        return (size & 1) == 1 ? sorted[MIDDLE] : (sorted[MIDDLE - 1] + sorted[MIDDLE]) * 0.5;
+    }
+
+    @Override public void reset() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class MovingExtremes {
+    private static final int    INITIAL_CAPACITY = 64;
+    private        final long   window;
+    private        final Deque  minDeque;
+    private        final Deque  maxDeque;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Keeps track of the smallest and biggest value within a sliding time
+     * window. Both extremes are stored in monotonic deques that are backed
+     * by primitive arrays, so adding a value costs amortized O(1) and will
+     * only create objects if the deques have to grow.
+     * @param WINDOW_MS
+     */
+    public MovingExtremes(final long WINDOW_MS) {
+        if (WINDOW_MS <= 0) { throw new IllegalArgumentException("Window must be greater than 0"); }
+        window   = TimeUnit.MILLISECONDS.toNanos(WINDOW_MS);
+        minDeque = new Deque(INITIAL_CAPACITY);
+        maxDeque = new Deque(INITIAL_CAPACITY);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the length of the sliding window in milliseconds.
+     * @return the length of the sliding window in milliseconds
+     */
+    public long getWindow() { return TimeUnit.NANOSECONDS.toMillis(window); }
+
+    /**
+     * Adds the given value that was measured at the given time in
+     * nanoseconds (System.nanoTime()) and removes all values that
+     * are older than the window.
+     * @param NANO_TIME
+     * @param VALUE
+     */
+    public void add(final long NANO_TIME, final double VALUE) {
+        while (!minDeque.isEmpty() && minDeque.lastValue() >= VALUE) { minDeque.removeLast(); }
+        minDeque.addLast(NANO_TIME, VALUE);
+        while (!maxDeque.isEmpty() && maxDeque.lastValue() <= VALUE) { maxDeque.removeLast(); }
+        maxDeque.addLast(NANO_TIME, VALUE);
+        evict(NANO_TIME);
+    }
+
+    /**
+     * Removes all values that are older than the window at the given
+     * time in nanoseconds (System.nanoTime()).
+     * @param NANO_TIME
+     */
+    public void evict(final long NANO_TIME) {
+        final long OLDEST = NANO_TIME - window;
+        while (!minDeque.isEmpty() && minDeque.firstTime() < OLDEST) { minDeque.removeFirst(); }
+        while (!maxDeque.isEmpty() && maxDeque.firstTime() < OLDEST) { maxDeque.removeFirst(); }
+    }
+
+    public boolean isEmpty() { return minDeque.isEmpty(); }
+
+    /**
+     * Returns the time in nanoseconds (System.nanoTime()) at which the
+     * oldest value that is still relevant for the min or max will leave
+     * the window or Long.MAX_VALUE if empty. At this time evict() should
+     * be called to update the extremes if no new values will be added.
+     * @return the time at which the oldest relevant value leaves the window
+     */
+    public long getNextExpiry() {
+        if (minDeque.isEmpty()) return Long.MAX_VALUE;
+        return Math.min(minDeque.firstTime(), maxDeque.firstTime()) + window + 1;
+    }
+
+    /**
+     * Returns the smallest value within the window or Double.NaN if empty.
+     * @return the smallest value within the window
+     */
+    public double getMin() { return minDeque.isEmpty() ? Double.NaN : minDeque.firstValue(); }
+
+    /**
+     * Returns the biggest value within the window or Double.NaN if empty.
+     * @return the biggest value within the window
+     */
+    public double getMax() { return maxDeque.isEmpty() ? Double.NaN : maxDeque.firstValue(); }
+
+    public void clear() {
+        minDeque.clear();
+        maxDeque.clear();
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Deque {
+        private long[]   times;
+        private double[] values;
+        private int      head;
+        private int      size;
+
+        Deque(final int CAPACITY) {
+            times  = new long[CAPACITY];
+            values = new double[CAPACITY];
+        }
+
+        boolean isEmpty() { return 0 == size; }
+
+        long firstTime() { return times[head]; }
+
+        double firstValue() { return values[head]; }
+
+        double lastValue() { return values[(head + size - 1) & (values.length - 1)]; }
+
+        void addLast(final long TIME, final double VALUE) {
+            if (size == values.length) { grow(); }
+            int index = (head + size) & (values.length - 1);
+            times[index]  = TIME;
+            values[index] = VALUE;
+            size++;
+        }
+
+        void removeFirst() {
+            head = (head + 1) & (values.length - 1);
+            size--;
+        }
+
+        void removeLast() { size--; }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        private void grow() {
+            final int      CAPACITY   = values.length << 1;
+            final long[]   NEW_TIMES  = new long[CAPACITY];
+            final double[] NEW_VALUES = new double[CAPACITY];
+            for (int i = 0 ; i < size ; i++) {
+                int index = (head + i) & (values.length - 1);
+                NEW_TIMES[i]  = times[index];
+                NEW_VALUES[i] = values[index];
+            }
+            times  = NEW_TIMES;
+            values = NEW_VALUES;
+            head   = 0;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class PulseDispatcher {
+    private static final Queue<Runnable> TASKS  = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean   ACTIVE = new AtomicBoolean(false);
+    private static final AnimationTimer  TIMER  = new AnimationTimer() {
+        @Override public void handle(final long NOW) { onPulse(NOW); }
+    };
+
+
+    // ******************** Constructors **************************************
+    private PulseDispatcher() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Schedules the given task to be executed on the JavaFX application
+     * thread during the next pulse. This method can be called from any thread.
+     * In contrast to Platform.runLater() all tasks that were scheduled between
+     * two pulses will be executed in one go which means the scene graph will
+     * only be rendered once for all of them.
+     * Callers that want to coalesce values should keep the task instance and
+     * only schedule it again after it was executed.
+     * @param TASK
+     */
+    public static void runOnNextPulse(final Runnable TASK) {
+        TASKS.add(TASK);
+        if (ACTIVE.compareAndSet(false, true)) { Platform.runLater(TIMER::start); }
+    }
+
+    private static void onPulse(final long NOW) {
+        // Only drain the tasks that were queued before this pulse started
+        int noOfTasks = TASKS.size();
+        for (int i = 0 ; i < noOfTasks ; i++) {
+            Runnable task = TASKS.poll();
+            if (null == task) break;
+            task.run();
+        }
+        // Stop the timer if there is nothing left to do, otherwise keep on pulsing
+        ACTIVE.set(false);
+        if (TASKS.isEmpty() || !ACTIVE.compareAndSet(false, true)) { TIMER.stop(); }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class QuantileSketch {
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    public static final int    DEFAULT_NO_OF_SLICES      = 10;
+    private final double  relativeAccuracy;
+    private final double  minMagnitude;
+    private final double  logGamma;
+    private final double  gamma;
+    private final int     minIndex;
+    private final int     noOfMagnitudeBuckets;
+    private final int     zeroBucket;
+    private final long    sliceDuration;
+    private final int[][] slices;
+    private final long[]  counts;
+    private       long    totalCount;
+    private       int     currentSlice;
+    private       long    sliceStart;
+    private       boolean started;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Creates a sketch with a relative accuracy of 1% for magnitudes between
+     * MAX_MAGNITUDE / 10000 and MAX_MAGNITUDE over the given window.
+     * @param MAX_MAGNITUDE
+     * @param WINDOW_MS
+     */
+    public QuantileSketch(final double MAX_MAGNITUDE, final long WINDOW_MS) {
+        this(DEFAULT_RELATIVE_ACCURACY, MAX_MAGNITUDE / 10_000, MAX_MAGNITUDE, WINDOW_MS, DEFAULT_NO_OF_SLICES);
+    }
+    /**
+     * A constant memory sketch that estimates quantiles of the values that
+     * have been added within a rolling time window. Values are counted in
+     * logarithmic buckets (separately for negative and positive values) so
+     * that each estimated quantile is within the given relative accuracy of
+     * the true value. Magnitudes below MIN_MAGNITUDE are counted as zero and
+     * magnitudes above MAX_MAGNITUDE are counted in the outermost bucket.
+     * The window is split into NO_OF_SLICES slices and the oldest slice will
+     * be dropped as a whole when the window moves on.
+     * Adding a value and estimating a quantile will not create any objects.
+     * @param RELATIVE_ACCURACY
+     * @param MIN_MAGNITUDE
+     * @param MAX_MAGNITUDE
+     * @param WINDOW_MS
+     * @param NO_OF_SLICES
+     */
+    public QuantileSketch(final double RELATIVE_ACCURACY, final double MIN_MAGNITUDE, final double MAX_MAGNITUDE, final long WINDOW_MS, final int NO_OF_SLICES) {
+        if (RELATIVE_ACCURACY <= 0 || RELATIVE_ACCURACY >= 1) { throw new IllegalArgumentException("Relative accuracy must be between 0 and 1"); }
+        if (MIN_MAGNITUDE <= 0 || MAX_MAGNITUDE <= MIN_MAGNITUDE) { throw new IllegalArgumentException("Magnitudes must be greater than 0 and MAX_MAGNITUDE must be greater than MIN_MAGNITUDE"); }
+        if (WINDOW_MS <= 0) { throw new IllegalArgumentException("Window must be greater than 0"); }
+        if (NO_OF_SLICES < 1) { throw new IllegalArgumentException("Number of slices must be greater than 0"); }
+        relativeAccuracy     = RELATIVE_ACCURACY;
+        minMagnitude         = MIN_MAGNITUDE;
+        gamma                = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+        logGamma             = Math.log(gamma);
+        minIndex             = (int) Math.ceil(Math.log(MIN_MAGNITUDE) / logGamma);
+        noOfMagnitudeBuckets = (int) Math.ceil(Math.log(MAX_MAGNITUDE) / logGamma) - minIndex + 1;
+        // Buckets are sorted by value: negative magnitudes (descending), zero, positive magnitudes (ascending)
+        zeroBucket           = noOfMagnitudeBuckets;
+        sliceDuration        = Math.max(1, TimeUnit.MILLISECONDS.toNanos(WINDOW_MS) / NO_OF_SLICES);
+        slices               = new int[NO_OF_SLICES][2 * noOfMagnitudeBuckets + 1];
+        counts               = new long[2 * noOfMagnitudeBuckets + 1];
+    }
+
+
+    // ******************** Methods *******************************************
+    public double getRelativeAccuracy() { return relativeAccuracy; }
+
+    /**
+     * Returns the length of the rolling window in milliseconds.
+     * @return the length of the rolling window in milliseconds
+     */
+    public long getWindow() { return TimeUnit.NANOSECONDS.toMillis(sliceDuration * slices.length); }
+
+    /**
+     * Adds the given value that was measured at the given time in
+     * nanoseconds (System.nanoTime()).
+     * @param NANO_TIME
+     * @param VALUE
+     */
+    public void add(final long NANO_TIME, final double VALUE) {
+        if (Double.isNaN(VALUE)) return;
+        advance(NANO_TIME);
+        final int BUCKET = toBucket(VALUE);
+        slices[currentSlice][BUCKET]++;
+        counts[BUCKET]++;
+        totalCount++;
+    }
+
+    /**
+     * Drops all slices that are older than the window at the given time
+     * in nanoseconds (System.nanoTime()). Call this before reading
+     * quantiles if no values have been added for a while.
+     * @param NANO_TIME
+     */
+    public void advance(final long NANO_TIME) {
+        if (!started) {
+            started    = true;
+            sliceStart = NANO_TIME;
+            return;
+        }
+        long elapsedSlices = (NANO_TIME - sliceStart) / sliceDuration;
+        if (elapsedSlices <= 0) return;
+        final int NO_OF_SLICES_TO_DROP = (int) Math.min(elapsedSlices, slices.length);
+        for (int i = 0 ; i < NO_OF_SLICES_TO_DROP ; i++) {
+            currentSlice = (currentSlice + 1) % slices.length;
+            clearSlice(currentSlice);
+        }
+        sliceStart += elapsedSlices * sliceDuration;
+    }
+
+    /**
+     * Returns the number of values within the window.
+     * @return the number of values within the window
+     */
+    public long getCount() { return totalCount; }
+
+    public boolean isEmpty() { return 0 == totalCount; }
+
+    /**
+     * Returns the estimated value at the given quantile (0.0 - 1.0) of all
+     * values within the window or Double.NaN if the window is empty.
+     * E.g. getQuantile(0.95) returns the 95th percentile.
+     * @param QUANTILE
+     * @return the estimated value at the given quantile
+     */
+    public double getQuantile(final double QUANTILE) {
+        if (0 == totalCount) return Double.NaN;
+        final long RANK = toRank(QUANTILE);
+        long       sum  = 0;
+        for (int i = 0 ; i < counts.length ; i++) {
+            sum += counts[i];
+            if (sum > RANK) return toValue(i);
+        }
+        return toValue(counts.length - 1);
+    }
+
+    /**
+     * Estimates the values at all given quantiles in one pass and stores
+     * them in the given target array. The quantiles have to be sorted in
+     * ascending order.
+     * @param QUANTILES
+     * @param TARGET
+     */
+    public void getQuantiles(final double[] QUANTILES, final double[] TARGET) {
+        if (TARGET.length < QUANTILES.length) { throw new IllegalArgumentException("Target array is too small"); }
+        if (0 == totalCount) {
+            for (int i = 0 ; i < QUANTILES.length ; i++) { TARGET[i] = Double.NaN; }
+            return;
+        }
+        int  bucket = 0;
+        long sum    = counts[0];
+        for (int i = 0 ; i < QUANTILES.length ; i++) {
+            final long RANK = toRank(QUANTILES[i]);
+            while (sum <= RANK && bucket < counts.length - 1) { sum += counts[++bucket]; }
+            TARGET[i] = toValue(bucket);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0 ; i < slices.length ; i++) { clearSlice(i); }
+        started = false;
+    }
+
+    private long toRank(final double QUANTILE) {
+        final double Q = QUANTILE < 0 ? 0 : QUANTILE > 1 ? 1 : QUANTILE;
+        return (long) (Q * (totalCount - 1));
+    }
+
+    private void clearSlice(final int INDEX) {
+        final int[] SLICE = slices[INDEX];
+        for (int i = 0 ; i < SLICE.length ; i++) {
+            if (0 == SLICE[i]) continue;
+            counts[i]  -= SLICE[i];
+            totalCount -= SLICE[i];
+            SLICE[i]    = 0;
+        }
+    }
+
+    private int toBucket(final double VALUE) {
+        final double MAGNITUDE = Math.abs(VALUE);
+        if (MAGNITUDE < minMagnitude) return zeroBucket;
+        int index = (int) Math.ceil(Math.log(MAGNITUDE) / logGamma) - minIndex;
+        if (index < 0) { index = 0; } else if (index >= noOfMagnitudeBuckets) { index = noOfMagnitudeBuckets - 1; }
+        return VALUE > 0 ? zeroBucket + 1 + index : zeroBucket - 1 - index;
+    }
+
+    private double toValue(final int BUCKET) {
+        if (BUCKET == zeroBucket) return 0;
+        final int    INDEX     = BUCKET > zeroBucket ? BUCKET - zeroBucket - 1 : zeroBucket - 1 - BUCKET;
+        final double MAGNITUDE = 2 * Math.pow(gamma, INDEX + minIndex) / (gamma + 1);
+        return BUCKET > zeroBucket ? MAGNITUDE : -MAGNITUDE;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class RefreshScheduler {
+    private static final List<Group> GROUPS     = new ArrayList<>();
+    private static final Runnable    PULSE_TASK = () -> onPulse();
+    private static       boolean     scheduled  = false;
+
+
+    // ******************** Constructors **************************************
+    private RefreshScheduler() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Schedules the given task to be executed once during the next pulse
+     * that is due for the given refresh rate in frames per second. All
+     * tasks with the same refresh rate will be executed within the same
+     * pulse on a time grid that is shared by all controls, so e.g. all
+     * gauges with a refresh rate of 2 fps will be redrawn together twice
+     * a second. Callers should keep the task instance and only schedule
+     * it again after it was executed.
+     * This method has to be called on the JavaFX application thread.
+     * @param TASK
+     * @param REFRESH_RATE
+     */
+    public static void schedule(final Runnable TASK, final double REFRESH_RATE) {
+        final long INTERVAL = getInterval(REFRESH_RATE);
+        Group group = null;
+        for (int i = 0 ; i < GROUPS.size() ; i++) {
+            if (GROUPS.get(i).interval == INTERVAL) {
+                group = GROUPS.get(i);
+                break;
+            }
+        }
+        if (null == group) {
+            group = new Group(INTERVAL);
+            GROUPS.add(group);
+        }
+        if (group.tasks.isEmpty()) { group.nextDue = (System.nanoTime() / INTERVAL + 1) * INTERVAL; }
+        group.tasks.add(TASK);
+        if (!scheduled) {
+            scheduled = true;
+            PulseDispatcher.runOnNextPulse(PULSE_TASK);
+        }
+    }
+
+    /**
+     * Returns the time between two refreshes in nanoseconds for the given
+     * refresh rate in frames per second.
+     * @param REFRESH_RATE
+     * @return the time between two refreshes in nanoseconds
+     */
+    public static long getInterval(final double REFRESH_RATE) { return (long) (1_000_000_000 / Helper.clamp(0.1, 1000d, REFRESH_RATE)); }
+
+    private static void onPulse() {
+        scheduled = false;
+        final long NOW     = System.nanoTime();
+        boolean    pending = false;
+        for (int i = 0 ; i < GROUPS.size() ; i++) {
+            final Group GROUP = GROUPS.get(i);
+            if (GROUP.tasks.isEmpty()) continue;
+            if (NOW >= GROUP.nextDue) {
+                // Swap the lists so that tasks can schedule themselves again
+                final List<Runnable> TASKS = GROUP.tasks;
+                GROUP.tasks   = GROUP.running;
+                GROUP.running = TASKS;
+                for (int j = 0 ; j < TASKS.size() ; j++) { TASKS.get(j).run(); }
+                TASKS.clear();
+            }
+            if (!GROUP.tasks.isEmpty()) { pending = true; }
+        }
+        if (pending && !scheduled) {
+            scheduled = true;
+            PulseDispatcher.runOnNextPulse(PULSE_TASK);
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Group {
+        private final long           interval;
+        private       long           nextDue;
+        private       List<Runnable> tasks;
+        private       List<Runnable> running;
+
+        Group(final long INTERVAL) {
+            interval = INTERVAL;
+            tasks    = new ArrayList<>();
+            running  = new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import eu.hansolo.medusa.Gauge;
+import eu.hansolo.medusa.Gauge.UpdatePolicy;
+import eu.hansolo.medusa.events.QualityTierEvent;
+import eu.hansolo.medusa.events.QualityTierEventListener;
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class RenderingGovernor {
+    public enum QualityTier {
+        FULL, NO_SHADOWS, REDUCED_UPDATES, MINIMAL;
+
+        public QualityTier lower()  { return MINIMAL == this ? MINIMAL : values()[ordinal() + 1]; }
+        public QualityTier higher() { return FULL == this ? FULL : values()[ordinal() - 1]; }
+    }
+
+    private static final double                          SMOOTHING = 0.1;
+    private        final List<Entry>                     entries;
+    private        final List<QualityTierEventListener>  listeners;
+    private        final AnimationTimer                  timer;
+    private              QualityTier                     tier;
+    private              double                          frameBudget;
+    private              double                          frameTime;
+    private              long                            lastPulse;
+    private              long                            pressureSince;
+    private              long                            headroomSince;
+    private              long                            stepDownDelay;
+    private              long                            stepUpDelay;
+    private              double                          reducedUpdateRate;
+    private              boolean                         running;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Measures the time between two pulses and steps the quality of the
+     * registered gauges down if the frames take longer than the frame
+     * budget for longer than the step down delay. If the frames are
+     * faster than 80% of the frame budget for longer than the step up
+     * delay the quality will be stepped up again.
+     * The tiers are
+     * FULL            : settings of the gauges
+     * NO_SHADOWS      : shadowsEnabled and innerShadowEnabled off
+     * REDUCED_UPDATES : additionally FIXED_HZ with the reducedUpdateRate and no section highlighting
+     * MINIMAL         : additionally animated off
+     * The settings of the gauges will be stored when leaving the FULL tier
+     * and will be restored when going back to it.
+     * Usually one governor will be used for all gauges of an application.
+     * All methods have to be called on the JavaFX application thread.
+     */
+    public RenderingGovernor() {
+        entries           = new ArrayList<>();
+        listeners         = new CopyOnWriteArrayList<>();
+        tier              = QualityTier.FULL;
+        frameBudget       = 1000.0 / 60.0 * 1.25;
+        stepDownDelay     = TimeUnit.SECONDS.toNanos(1);
+        stepUpDelay       = TimeUnit.SECONDS.toNanos(5);
+        reducedUpdateRate = 10;
+        timer             = new AnimationTimer() {
+            @Override public void handle(final long NOW) { onPulse(NOW); }
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    public void start() {
+        if (running) return;
+        running       = true;
+        lastPulse     = 0;
+        pressureSince = 0;
+        headroomSince = 0;
+        timer.start();
+    }
+
+    /**
+     * Stops measuring and restores the settings of all registered gauges.
+     */
+    public void stop() {
+        if (!running) return;
+        running = false;
+        timer.stop();
+        setTier(QualityTier.FULL);
+    }
+
+    public boolean isRunning() { return running; }
+
+    public void register(final Gauge... GAUGES) {
+        for (Gauge gauge : GAUGES) {
+            if (null != getEntry(gauge)) continue;
+            Entry entry = new Entry(gauge);
+            entries.add(entry);
+            if (QualityTier.FULL != tier) {
+                entry.store();
+                entry.apply(tier, reducedUpdateRate);
+            }
+        }
+    }
+
+    /**
+     * Removes the given gauges and restores their settings.
+     * @param GAUGES
+     */
+    public void unregister(final Gauge... GAUGES) {
+        for (Gauge gauge : GAUGES) {
+            Entry entry = getEntry(gauge);
+            if (null == entry) continue;
+            if (QualityTier.FULL != tier) { entry.restore(); }
+            entries.remove(entry);
+        }
+    }
+
+    public QualityTier getTier() { return tier; }
+    /**
+     * Sets the given tier immediately, the governor will continue to adjust
+     * the tier if it is running.
+     * @param TIER
+     */
+    public void setTier(final QualityTier TIER) {
+        if (null == TIER || TIER == tier) return;
+        final QualityTier OLD_TIER = tier;
+        if (QualityTier.FULL == OLD_TIER) { for (Entry entry : entries) { entry.store(); } }
+        tier = TIER;
+        for (Entry entry : entries) {
+            if (QualityTier.FULL == tier) { entry.restore(); } else { entry.apply(tier, reducedUpdateRate); }
+        }
+        pressureSince = 0;
+        headroomSince = 0;
+        fireQualityTierEvent(new QualityTierEvent(RenderingGovernor.this, OLD_TIER, tier, frameTime));
+    }
+
+    /**
+     * Returns the smoothed time between two pulses in milliseconds.
+     * @return the smoothed time between two pulses in milliseconds
+     */
+    public double getFrameTime() { return frameTime; }
+
+    public double getFrameBudget() { return frameBudget; }
+    /**
+     * Defines the max time between two pulses in milliseconds before the
+     * quality will be stepped down. The default is 20.8ms (60fps + 25%).
+     * @param BUDGET
+     */
+    public void setFrameBudget(final double BUDGET) { frameBudget = Helper.clamp(1d, 1000d, BUDGET); }
+
+    public long getStepDownDelay() { return TimeUnit.NANOSECONDS.toMillis(stepDownDelay); }
+    /**
+     * Defines how long in milliseconds the frame time has to be above the
+     * frame budget before the quality will be stepped down (default 1000ms).
+     * @param DELAY
+     */
+    public void setStepDownDelay(final long DELAY) { stepDownDelay = TimeUnit.MILLISECONDS.toNanos(Math.max(0, DELAY)); }
+
+    public long getStepUpDelay() { return TimeUnit.NANOSECONDS.toMillis(stepUpDelay); }
+    /**
+     * Defines how long in milliseconds the frame time has to be below 80%
+     * of the frame budget before the quality will be stepped up (default 5000ms).
+     * @param DELAY
+     */
+    public void setStepUpDelay(final long DELAY) { stepUpDelay = TimeUnit.MILLISECONDS.toNanos(Math.max(0, DELAY)); }
+
+    public double getReducedUpdateRate() { return reducedUpdateRate; }
+    /**
+     * Defines the max number of updates per second of the gauges in the
+     * tiers REDUCED_UPDATES and MINIMAL (default 10).
+     * @param RATE
+     */
+    public void setReducedUpdateRate(final double RATE) { reducedUpdateRate = Helper.clamp(0.1, 1000d, RATE); }
+
+    private void onPulse(final long NOW) {
+        if (0 == lastPulse) {
+            lastPulse = NOW;
+            return;
+        }
+        final double INTERVAL = (NOW - lastPulse) / 1_000_000.0;
+        lastPulse = NOW;
+        frameTime = 0 == frameTime ? INTERVAL : frameTime + (INTERVAL - frameTime) * SMOOTHING;
+        if (frameTime > frameBudget) {
+            headroomSince = 0;
+            if (0 == pressureSince) { pressureSince = NOW; }
+            if (NOW - pressureSince >= stepDownDelay && QualityTier.MINIMAL != tier) { setTier(tier.lower()); }
+        } else if (frameTime < frameBudget * 0.8) {
+            pressureSince = 0;
+            if (0 == headroomSince) { headroomSince = NOW; }
+            if (NOW - headroomSince >= stepUpDelay && QualityTier.FULL != tier) { setTier(tier.higher()); }
+        } else {
+            pressureSince = 0;
+            headroomSince = 0;
+        }
+    }
+
+    private Entry getEntry(final Gauge GAUGE) {
+        for (Entry entry : entries) { if (entry.gauge == GAUGE) return entry; }
+        return null;
+    }
+
+
+    // ******************** Event handling ************************************
+    public void setOnQualityTierChanged(final QualityTierEventListener LISTENER) { addQualityTierEventListener(LISTENER); }
+    public void addQualityTierEventListener(final QualityTierEventListener LISTENER) { if (!listeners.contains(LISTENER)) listeners.add(LISTENER); }
+    public void removeQualityTierEventListener(final QualityTierEventListener LISTENER) { if (listeners.contains(LISTENER)) listeners.remove(LISTENER); }
+
+    public void fireQualityTierEvent(final QualityTierEvent EVENT) {
+        for (QualityTierEventListener listener : listeners) { listener.onQualityTierEvent(EVENT); }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Entry {
+        private final Gauge        gauge;
+        private       boolean      animated;
+        private       boolean      shadowsEnabled;
+        private       boolean      innerShadowEnabled;
+        private       boolean      highlightSections;
+        private       UpdatePolicy updatePolicy;
+        private       double       updateRate;
+
+        Entry(final Gauge GAUGE) { gauge = GAUGE; }
+
+        void store() {
+            animated           = gauge.isAnimated();
+            shadowsEnabled     = gauge.isShadowsEnabled();
+            innerShadowEnabled = gauge.isInnerShadowEnabled();
+            highlightSections  = gauge.isHighlightSections();
+            updatePolicy       = gauge.getUpdatePolicy();
+            updateRate         = gauge.getUpdateRate();
+        }
+
+        void apply(final QualityTier TIER, final double REDUCED_UPDATE_RATE) {
+            final boolean REDUCE_UPDATES = TIER.ordinal() >= QualityTier.REDUCED_UPDATES.ordinal();
+            gauge.setShadowsEnabled(false);
+            gauge.setInnerShadowEnabled(false);
+            gauge.setHighlightSections(REDUCE_UPDATES ? false : highlightSections);
+            if (REDUCE_UPDATES) {
+                gauge.setUpdatePolicy(UpdatePolicy.FIXED_HZ);
+                gauge.setUpdateRate(UpdatePolicy.FIXED_HZ == updatePolicy ? Math.min(updateRate, REDUCED_UPDATE_RATE) : REDUCED_UPDATE_RATE);
+            } else {
+                gauge.setUpdatePolicy(updatePolicy);
+                gauge.setUpdateRate(updateRate);
+            }
+            gauge.setAnimated(QualityTier.MINIMAL == TIER ? false : animated);
+        }
+
+        void restore() {
+            gauge.setShadowsEnabled(shadowsEnabled);
+            gauge.setInnerShadowEnabled(innerShadowEnabled);
+            gauge.setHighlightSections(highlightSections);
+            gauge.setUpdatePolicy(updatePolicy);
+            gauge.setUpdateRate(updateRate);
+            gauge.setAnimated(animated);
+        }
+    }
+}
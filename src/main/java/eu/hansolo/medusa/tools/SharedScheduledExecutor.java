@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class SharedScheduledExecutor {
+    public  static final String                               BLINK           = "BlinkTask";
+    public  static final String                               CLOCK_TICK      = "ClockTick";
+    public  static final String                               MEASURED_VALUES = "MeasuredValueWindow";
+    private static final Map<String, SharedScheduledExecutor> INSTANCES       = new ConcurrentHashMap<>();
+    private        final String                               name;
+    private        final Set<Object>                          owners;
+    private              ScheduledExecutorService             executor;
+    private              ScheduledExecutorService             injectedExecutor;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * A ScheduledExecutorService that is shared by all controls that
+     * acquired it. The executor will be created when the first control
+     * acquires it and will be shut down when the last control released
+     * it. This means stopping one control never stops the tasks of other
+     * controls and no thread keeps on running if no control needs it.
+     * @param NAME
+     */
+    private SharedScheduledExecutor(final String NAME) {
+        name   = NAME;
+        owners = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the shared executor with the given name e.g. BLINK, CLOCK_TICK or MEASURED_VALUES.
+     * @param NAME
+     * @return the shared executor with the given name
+     */
+    public static SharedScheduledExecutor get(final String NAME) { return INSTANCES.computeIfAbsent(NAME, SharedScheduledExecutor::new); }
+
+    public String getName() { return name; }
+
+    /**
+     * Registers the given owner and returns the executor that should be
+     * used to schedule its tasks. Acquiring the executor more than once
+     * with the same owner has no effect on the reference count.
+     * @param OWNER
+     * @return the executor that should be used to schedule the tasks of the owner
+     */
+    public synchronized ScheduledExecutorService acquire(final Object OWNER) {
+        owners.add(OWNER);
+        if (null != injectedExecutor) return injectedExecutor;
+        if (null == executor) { executor = new ScheduledThreadPoolExecutor(1, Helper.getThreadFactory(name, false)); }
+        return executor;
+    }
+
+    /**
+     * Unregisters the given owner. The owner has to cancel its tasks before.
+     * If no owner is left the executor will be shut down unless it was
+     * injected by setExecutor().
+     * @param OWNER
+     */
+    public synchronized void release(final Object OWNER) {
+        if (!owners.remove(OWNER) || !owners.isEmpty()) return;
+        if (null != executor) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Returns the number of owners that acquired the executor.
+     * @return the number of owners that acquired the executor
+     */
+    public synchronized int getNoOfOwners() { return owners.size(); }
+
+    /**
+     * Returns true if a thread was started for the registered owners.
+     * @return true if a thread was started for the registered owners
+     */
+    public synchronized boolean isRunning() { return null != executor; }
+
+    /**
+     * Defines the executor that will be used instead of the internal one.
+     * An injected executor will never be shut down, its lifecycle is up
+     * to the caller. Setting it to null switches back to the internal
+     * executor. The executor can only be replaced while no owner uses it.
+     * @param EXECUTOR
+     */
+    public synchronized void setExecutor(final ScheduledExecutorService EXECUTOR) {
+        if (!owners.isEmpty()) { throw new IllegalStateException("Executor " + name + " is in use by " + owners.size() + " owners"); }
+        injectedExecutor = EXECUTOR;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import eu.hansolo.medusa.Gauge;
+import javafx.beans.InvalidationListener;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class TelemetryRecorder implements AutoCloseable {
+    public  static final int                              MAGIC           = 0x4D445354; // MDST
+    public  static final int                              VERSION         = 1;
+    public  static final int                              HEADER_SIZE     = 32;
+    public  static final int                              RECORD_SIZE     = 24;
+    public  static final int                              COMMITTED       = 1;
+    // Header layout
+    public  static final int                              MAGIC_OFFSET    = 0;
+    public  static final int                              VERSION_OFFSET  = 4;
+    public  static final int                              SIZE_OFFSET     = 8;
+    public  static final int                              CAPACITY_OFFSET = 16;
+    public  static final int                              COUNT_OFFSET    = 24;
+    // Record layout
+    public  static final int                              TIME_OFFSET     = 0;
+    public  static final int                              VALUE_OFFSET    = 8;
+    public  static final int                              ID_OFFSET       = 16;
+    public  static final int                              FLAG_OFFSET     = 20;
+    private        final FileChannel                      channel;
+    private        final MappedByteBuffer                 buffer;
+    private        final long                             capacity;
+    private        final AtomicLong                       cursor;
+    private        final AtomicLong                       noOfDroppedRecords;
+    private        final Map<Gauge, InvalidationListener>  listeners;
+    private volatile     boolean                          closed;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Records (gaugeId, nanoTime, value) tuples into a memory mapped file
+     * with a fixed size per record. Each producer reserves its slot with
+     * one atomic increment of the append cursor and writes the record
+     * directly into the mapped memory, so recording never blocks and does
+     * not create any objects. A record is complete once its flag field
+     * was written, which makes it possible to read files of crashed
+     * applications. If the file is full further records will be dropped.
+     * An existing file will be overwritten.
+     * @param FILE
+     * @param MAX_NO_OF_RECORDS
+     * @throws IOException
+     */
+    public TelemetryRecorder(final Path FILE, final long MAX_NO_OF_RECORDS) throws IOException {
+        if (MAX_NO_OF_RECORDS < 1) { throw new IllegalArgumentException("Max number of records must be greater than 0"); }
+        final long SIZE = HEADER_SIZE + MAX_NO_OF_RECORDS * RECORD_SIZE;
+        if (SIZE > Integer.MAX_VALUE) { throw new IllegalArgumentException("Max number of records must not be greater than " + (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE); }
+        channel            = FileChannel.open(FILE, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer             = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        capacity           = MAX_NO_OF_RECORDS;
+        cursor             = new AtomicLong(0);
+        noOfDroppedRecords = new AtomicLong(0);
+        listeners          = new HashMap<>();
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(SIZE_OFFSET, RECORD_SIZE);
+        buffer.putLong(CAPACITY_OFFSET, capacity);
+        buffer.putLong(COUNT_OFFSET, 0);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Appends the given record. This method can be called from any thread.
+     * @param GAUGE_ID
+     * @param NANO_TIME
+     * @param VALUE
+     * @return false if the record was dropped because the file is full or closed
+     */
+    public boolean record(final int GAUGE_ID, final long NANO_TIME, final double VALUE) {
+        if (closed) return false;
+        final long INDEX = cursor.getAndIncrement();
+        if (INDEX >= capacity) {
+            noOfDroppedRecords.incrementAndGet();
+            return false;
+        }
+        final int OFFSET = HEADER_SIZE + (int) INDEX * RECORD_SIZE;
+        buffer.putLong(OFFSET + TIME_OFFSET, NANO_TIME);
+        buffer.putDouble(OFFSET + VALUE_OFFSET, VALUE);
+        buffer.putInt(OFFSET + ID_OFFSET, GAUGE_ID);
+        buffer.putInt(OFFSET + FLAG_OFFSET, COMMITTED);
+        return true;
+    }
+
+    /**
+     * Records every value that will be set on the given gauge with the
+     * given id. The displayed value of the gauge follows from these values
+     * and the gauge settings. This method has to be called on the JavaFX
+     * application thread.
+     * @param GAUGE
+     * @param GAUGE_ID
+     */
+    public void attach(final Gauge GAUGE, final int GAUGE_ID) {
+        detach(GAUGE);
+        final InvalidationListener LISTENER = o -> record(GAUGE_ID, System.nanoTime(), GAUGE.getValue());
+        listeners.put(GAUGE, LISTENER);
+        GAUGE.valueProperty().addListener(LISTENER);
+    }
+
+    /**
+     * Stops recording the values of the given gauge.
+     * This method has to be called on the JavaFX application thread.
+     * @param GAUGE
+     */
+    public void detach(final Gauge GAUGE) {
+        final InvalidationListener LISTENER = listeners.remove(GAUGE);
+        if (null != LISTENER) { GAUGE.valueProperty().removeListener(LISTENER); }
+    }
+
+    /**
+     * Returns the max number of records that fit into the file.
+     * @return the max number of records that fit into the file
+     */
+    public long getCapacity() { return capacity; }
+
+    /**
+     * Returns the number of records that have been written to the file.
+     * @return the number of records that have been written to the file
+     */
+    public long getNoOfRecords() { return Math.min(cursor.get(), capacity); }
+
+    /**
+     * Returns the number of records that have been dropped because the file was full.
+     * @return the number of records that have been dropped
+     */
+    public long getNoOfDroppedRecords() { return noOfDroppedRecords.get(); }
+
+    /**
+     * Writes the number of records to the header and forces all
+     * changes to be written to the storage device.
+     */
+    public void flush() {
+        buffer.putLong(COUNT_OFFSET, getNoOfRecords());
+        buffer.force();
+    }
+
+    /**
+     * Detaches all gauges, flushes the file and closes it. This method
+     * has to be called on the JavaFX application thread if gauges have
+     * been attached.
+     * @throws IOException
+     */
+    @Override public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        for (Map.Entry<Gauge, InvalidationListener> entry : listeners.entrySet()) { entry.getKey().valueProperty().removeListener(entry.getValue()); }
+        listeners.clear();
+        flush();
+        channel.close();
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import eu.hansolo.medusa.Gauge;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static eu.hansolo.medusa.tools.TelemetryRecorder.*;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class TelemetryReplay {
+    private final int[]     gaugeIds;
+    private final int[]     slots;
+    private final long[]    times;
+    private final double[]  values;
+    private final int[]     previous;
+    private final Gauge[]   gauges;
+    private final double[]  pendingValues;
+    private final boolean[] dirty;
+    private final Runnable  pulseTask;
+    private       int       cursor;
+    private       long      position;
+    private       long      anchorPosition;
+    private       long      anchorNanoTime;
+    private       double    speed;
+    private       boolean   playing;
+    private       boolean   pulseScheduled;
+    private       long      noOfDispatchedSamples;
+    private       long      noOfCoalescedSamples;
+    private       long      rateWindowStart;
+    private       long      rateWindowSamples;
+    private       double    samplesPerSecond;
+    private       Runnable  onFinished;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Replays the given records which have to be sorted by time. The gauge
+     * ids will be mapped to gauges with map(). Use fromRecording() or
+     * fromCsv() to load the records from a file.
+     * @param GAUGE_IDS
+     * @param NANO_TIMES
+     * @param VALUES
+     */
+    public TelemetryReplay(final int[] GAUGE_IDS, final long[] NANO_TIMES, final double[] VALUES) {
+        if (GAUGE_IDS.length != NANO_TIMES.length || GAUGE_IDS.length != VALUES.length) { throw new IllegalArgumentException("All arrays must have the same length"); }
+        final int SIZE = GAUGE_IDS.length;
+        times  = NANO_TIMES.clone();
+        values = VALUES.clone();
+        slots  = new int[SIZE];
+
+        // Map the gauge ids to slots and link each record to the previous record of the same gauge
+        final Map<Integer, Integer> SLOTS      = new HashMap<>();
+        final int[]                 LAST_INDEX = new int[SIZE];
+        previous = new int[SIZE];
+        for (int i = 0 ; i < SIZE ; i++) {
+            if (i > 0 && times[i] < times[i - 1]) { throw new IllegalArgumentException("Records must be sorted by time"); }
+            Integer slot = SLOTS.get(GAUGE_IDS[i]);
+            if (null == slot) {
+                slot = SLOTS.size();
+                SLOTS.put(GAUGE_IDS[i], slot);
+                LAST_INDEX[slot] = -1;
+            }
+            slots[i]         = slot;
+            previous[i]      = LAST_INDEX[slot];
+            LAST_INDEX[slot] = i;
+        }
+        gaugeIds = new int[SLOTS.size()];
+        for (Map.Entry<Integer, Integer> entry : SLOTS.entrySet()) { gaugeIds[entry.getValue()] = entry.getKey(); }
+
+        gauges         = new Gauge[gaugeIds.length];
+        pendingValues  = new double[gaugeIds.length];
+        dirty          = new boolean[gaugeIds.length];
+        pulseTask      = () -> onPulse();
+        speed          = 1;
+        cursor         = 0;
+        position       = SIZE > 0 ? times[0] - 1 : 0;
+        anchorPosition = position;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Loads all complete records of the given file that was written by
+     * the TelemetryRecorder.
+     * @param FILE
+     * @return a replay of the records in the given file
+     * @throws IOException
+     */
+    public static TelemetryReplay fromRecording(final Path FILE) throws IOException {
+        try (FileChannel channel = FileChannel.open(FILE, StandardOpenOption.READ)) {
+            final MappedByteBuffer BUFFER = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            BUFFER.order(ByteOrder.LITTLE_ENDIAN);
+            if (BUFFER.capacity() < HEADER_SIZE || BUFFER.getInt(MAGIC_OFFSET) != MAGIC) { throw new IOException("Not a telemetry recording: " + FILE); }
+            if (BUFFER.getInt(VERSION_OFFSET) != VERSION) { throw new IOException("Unsupported telemetry recording version: " + BUFFER.getInt(VERSION_OFFSET)); }
+            final int      RECORD = BUFFER.getInt(SIZE_OFFSET);
+            // The fields of a record have to fit into the record size that is stored in the header
+            if (RECORD < RECORD_SIZE) { throw new IOException("Invalid telemetry record size: " + RECORD); }
+            final int      MAX    = (BUFFER.capacity() - HEADER_SIZE) / RECORD;
+            final int[]    IDS    = new int[MAX];
+            final long[]   TIMES  = new long[MAX];
+            final double[] VALUES = new double[MAX];
+            int size = 0;
+            for (int i = 0 ; i < MAX ; i++) {
+                final int OFFSET = HEADER_SIZE + i * RECORD;
+                // Records that are not committed have not been written completely
+                if (BUFFER.getInt(OFFSET + FLAG_OFFSET) != COMMITTED) continue;
+                IDS[size]    = BUFFER.getInt(OFFSET + ID_OFFSET);
+                TIMES[size]  = BUFFER.getLong(OFFSET + TIME_OFFSET);
+                VALUES[size] = BUFFER.getDouble(OFFSET + VALUE_OFFSET);
+                size++;
+            }
+            return create(IDS, TIMES, VALUES, size);
+        }
+    }
+
+    /**
+     * Loads the records of the given CSV file where each line contains
+     * gaugeId,nanoTime,value. Empty lines, lines starting with # and
+     * lines that cannot be parsed (e.g. a header) will be skipped.
+     * @param FILE
+     * @return a replay of the records in the given file
+     * @throws IOException
+     */
+    public static TelemetryReplay fromCsv(final Path FILE) throws IOException {
+        int[]    ids    = new int[1024];
+        long[]   times  = new long[1024];
+        double[] values = new double[1024];
+        int      size   = 0;
+        try (BufferedReader reader = Files.newBufferedReader(FILE)) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split(",");
+                if (fields.length < 3) continue;
+                try {
+                    int    id    = Integer.parseInt(fields[0].trim());
+                    long   time  = Long.parseLong(fields[1].trim());
+                    double value = Double.parseDouble(fields[2].trim());
+                    if (size == ids.length) {
+                        ids    = Arrays.copyOf(ids, size << 1);
+                        times  = Arrays.copyOf(times, size << 1);
+                        values = Arrays.copyOf(values, size << 1);
+                    }
+                    ids[size]    = id;
+                    times[size]  = time;
+                    values[size] = value;
+                    size++;
+                } catch (NumberFormatException e) {
+                    // skip lines like headers
+                }
+            }
+        }
+        return create(ids, times, values, size);
+    }
+
+    /**
+     * Defines the gauge that will show the records with the given gauge id.
+     * Records of gauge ids that are not mapped will be skipped.
+     * @param GAUGE_ID
+     * @param GAUGE
+     */
+    public void map(final int GAUGE_ID, final Gauge GAUGE) {
+        for (int i = 0 ; i < gaugeIds.length ; i++) {
+            if (gaugeIds[i] == GAUGE_ID) {
+                gauges[i] = GAUGE;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of all gauges in the recording.
+     * @return the ids of all gauges in the recording
+     */
+    public int[] getGaugeIds() { return gaugeIds.clone(); }
+
+    public int getNoOfRecords() { return times.length; }
+
+    /**
+     * Returns the time of the first record in nanoseconds of the recording.
+     * @return the time of the first record
+     */
+    public long getStartTime() { return 0 == times.length ? 0 : times[0]; }
+
+    /**
+     * Returns the time of the last record in nanoseconds of the recording.
+     * @return the time of the last record
+     */
+    public long getEndTime() { return 0 == times.length ? 0 : times[times.length - 1]; }
+
+    /**
+     * Returns the current replay position in nanoseconds of the recording.
+     * @return the current replay position
+     */
+    public long getPosition() { return position; }
+
+    public double getSpeed() { return speed; }
+    /**
+     * Defines the replay speed where 1 means real time, 10 means ten times
+     * faster and negative values replay the recording backwards.
+     * @param SPEED
+     */
+    public void setSpeed(final double SPEED) {
+        if (Double.isNaN(SPEED) || Double.isInfinite(SPEED)) { throw new IllegalArgumentException("Speed must be a finite number"); }
+        anchor(System.nanoTime());
+        speed = SPEED;
+    }
+
+    public boolean isPlaying() { return playing; }
+
+    /**
+     * Starts or continues the replay from the current position. All values
+     * that are due within one pulse will be coalesced so that each gauge
+     * will be set at most once per pulse.
+     * This method has to be called on the JavaFX application thread.
+     */
+    public void play() {
+        if (playing) return;
+        final long NOW = System.nanoTime();
+        anchor(NOW);
+        rateWindowStart   = NOW;
+        rateWindowSamples = 0;
+        playing           = true;
+        schedulePulse();
+    }
+
+    /**
+     * Pauses the replay at the current position.
+     */
+    public void pause() {
+        if (!playing) return;
+        anchor(System.nanoTime());
+        playing = false;
+    }
+
+    /**
+     * Moves the replay position to the given time in nanoseconds of the
+     * recording and sets the gauges to the values at that time.
+     * This method has to be called on the JavaFX application thread.
+     * @param POSITION
+     */
+    public void seek(final long POSITION) {
+        moveTo(POSITION);
+        applyPendingValues();
+        anchorPosition = POSITION;
+        anchorNanoTime = System.nanoTime();
+    }
+
+    /**
+     * Moves the replay by the given number of records forward or, for
+     * negative numbers, backward and sets the gauges accordingly.
+     * This method has to be called on the JavaFX application thread.
+     * @param NO_OF_RECORDS
+     */
+    public void step(final int NO_OF_RECORDS) {
+        if (0 == times.length) return;
+        final int TARGET = Math.max(0, Math.min(times.length, cursor + NO_OF_RECORDS));
+        seek(0 == TARGET ? times[0] - 1 : times[TARGET - 1]);
+    }
+
+    /**
+     * Returns the number of records that have been dispatched to the gauges.
+     * @return the number of records that have been dispatched
+     */
+    public long getNoOfDispatchedSamples() { return noOfDispatchedSamples; }
+
+    /**
+     * Returns the number of records that have been replaced by a newer
+     * record of the same gauge within the same pulse.
+     * @return the number of records that have been coalesced
+     */
+    public long getNoOfCoalescedSamples() { return noOfCoalescedSamples; }
+
+    /**
+     * Returns the number of records per second that have been dispatched
+     * during the last second of the replay.
+     * @return the number of records per second
+     */
+    public double getSamplesPerSecond() { return samplesPerSecond; }
+
+    public void resetMetrics() {
+        noOfDispatchedSamples = 0;
+        noOfCoalescedSamples  = 0;
+        rateWindowSamples     = 0;
+        rateWindowStart       = System.nanoTime();
+        samplesPerSecond      = 0;
+    }
+
+    /**
+     * Defines a runnable that will be called when the replay reached the
+     * end (or the start if it was played backwards).
+     * @param ON_FINISHED
+     */
+    public void setOnFinished(final Runnable ON_FINISHED) { onFinished = ON_FINISHED; }
+
+    private static TelemetryReplay create(final int[] IDS, final long[] TIMES, final double[] VALUES, final int SIZE) {
+        final int[]    ids    = Arrays.copyOf(IDS, SIZE);
+        final long[]   times  = Arrays.copyOf(TIMES, SIZE);
+        final double[] values = Arrays.copyOf(VALUES, SIZE);
+        // Concurrent producers might have written their records slightly out of order
+        for (int i = 1 ; i < SIZE ; i++) {
+            final int    ID    = ids[i];
+            final long   TIME  = times[i];
+            final double VALUE = values[i];
+            int j = i - 1;
+            while (j >= 0 && times[j] > TIME) {
+                ids[j + 1]    = ids[j];
+                times[j + 1]  = times[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            ids[j + 1]    = ID;
+            times[j + 1]  = TIME;
+            values[j + 1] = VALUE;
+        }
+        return new TelemetryReplay(ids, times, values);
+    }
+
+    private void anchor(final long NANO_TIME) {
+        if (playing) { position = anchorPosition + (long) ((NANO_TIME - anchorNanoTime) * speed); }
+        anchorPosition = position;
+        anchorNanoTime = NANO_TIME;
+    }
+
+    private void schedulePulse() {
+        if (pulseScheduled) return;
+        pulseScheduled = true;
+        PulseDispatcher.runOnNextPulse(pulseTask);
+    }
+
+    private void onPulse() {
+        pulseScheduled = false;
+        if (!playing) return;
+        final long NOW = System.nanoTime();
+        moveTo(anchorPosition + (long) ((NOW - anchorNanoTime) * speed));
+        applyPendingValues();
+        updateRate(NOW);
+        if ((speed >= 0 && cursor == times.length) || (speed < 0 && cursor == 0)) {
+            playing = false;
+            if (null != onFinished) { onFinished.run(); }
+        } else {
+            schedulePulse();
+        }
+    }
+
+    private void moveTo(final long POSITION) {
+        while (cursor < times.length && times[cursor] <= POSITION) {
+            dispatch(slots[cursor], values[cursor]);
+            cursor++;
+        }
+        while (cursor > 0 && times[cursor - 1] > POSITION) {
+            cursor--;
+            // Going back means showing the value the gauge had before this record
+            if (previous[cursor] >= 0) { dispatch(slots[cursor], values[previous[cursor]]); }
+        }
+        position = POSITION;
+    }
+
+    private void dispatch(final int SLOT, final double VALUE) {
+        noOfDispatchedSamples++;
+        rateWindowSamples++;
+        if (dirty[SLOT]) { noOfCoalescedSamples++; } else { dirty[SLOT] = true; }
+        pendingValues[SLOT] = VALUE;
+    }
+
+    private void applyPendingValues() {
+        for (int i = 0 ; i < gauges.length ; i++) {
+            if (!dirty[i]) continue;
+            dirty[i] = false;
+            if (null != gauges[i]) { gauges[i].setValue(pendingValues[i]); }
+        }
+    }
+
+    private void updateRate(final long NOW) {
+        final long ELAPSED = NOW - rateWindowStart;
+        if (ELAPSED < 1_000_000_000L) return;
+        samplesPerSecond  = rateWindowSamples * 1_000_000_000.0 / ELAPSED;
+        rateWindowSamples = 0;
+        rateWindowStart   = NOW;
+    }
+}
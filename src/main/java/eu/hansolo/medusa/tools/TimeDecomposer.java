@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class TimeDecomposer {
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private ZoneId            zone;
+    private ZoneRules         rules;
+    private int               offsetSeconds;
+    private long              offsetValidFrom;
+    private long              offsetValidUntil;
+    private long              epochMillis;
+    private long              epochSecond;
+    private long              epochDay;
+    private int               hour;
+    private int               minute;
+    private int               second;
+    private int               millisecond;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Splits epoch milliseconds into the local hour, minute, second and
+     * millisecond of a zone without creating objects. The offset of the zone
+     * will be cached together with the range of epoch seconds in which it is
+     * valid (the previous and next transition of the zone rules). Only if the
+     * given time leaves this range (e.g. at a daylight saving time change) or
+     * the zone changes the offset will be looked up again.
+     * This makes it possible to move the hands of a clock every few
+     * milliseconds without creating a ZonedDateTime on every tick.
+     */
+    public TimeDecomposer() {
+        offsetValidFrom  = Long.MAX_VALUE;
+        offsetValidUntil = Long.MIN_VALUE;
+        epochMillis      = Long.MIN_VALUE;
+        epochSecond      = Long.MIN_VALUE;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Decomposes the given time. Returns true if the local second changed
+     * since the last call which means that everything that only shows whole
+     * seconds (e.g. texts) has to be updated.
+     * @param TIME
+     * @return true if the local second changed since the last call
+     */
+    public boolean update(final ZonedDateTime TIME) {
+        return update(TIME.toEpochSecond() * 1000 + TIME.getNano() / 1_000_000, TIME.getZone());
+    }
+    /**
+     * Decomposes the given epoch milliseconds in the given zone. Returns true
+     * if the local second changed since the last call which means that
+     * everything that only shows whole seconds (e.g. texts) has to be updated.
+     * @param EPOCH_MILLIS
+     * @param ZONE
+     * @return true if the local second changed since the last call
+     */
+    public boolean update(final long EPOCH_MILLIS, final ZoneId ZONE) {
+        final long    EPOCH_SECOND   = Math.floorDiv(EPOCH_MILLIS, 1000);
+        final boolean OFFSET_CHANGED = updateOffset(EPOCH_SECOND, ZONE);
+        if (EPOCH_MILLIS == epochMillis && !OFFSET_CHANGED) return false;
+
+        final long LOCAL_SECOND  = EPOCH_SECOND + offsetSeconds;
+        final int  SECOND_OF_DAY = (int) Math.floorMod(LOCAL_SECOND, SECONDS_PER_DAY);
+        epochMillis = EPOCH_MILLIS;
+        epochDay    = Math.floorDiv(LOCAL_SECOND, SECONDS_PER_DAY);
+        hour        = SECOND_OF_DAY / 3600;
+        minute      = (SECOND_OF_DAY / 60) % 60;
+        second      = SECOND_OF_DAY % 60;
+        millisecond = (int) Math.floorMod(EPOCH_MILLIS, 1000L);
+
+        if (EPOCH_SECOND == epochSecond && !OFFSET_CHANGED) return false;
+        epochSecond = EPOCH_SECOND;
+        return true;
+    }
+
+    /**
+     * Forces the next call of update() to return true.
+     */
+    public void invalidate() { epochSecond = Long.MIN_VALUE; }
+
+    public ZoneId getZone() { return zone; }
+
+    public long getEpochMillis() { return epochMillis; }
+
+    /**
+     * Returns the number of days since 1970-01-01 in the local zone.
+     * @return the number of days since 1970-01-01 in the local zone
+     */
+    public long getEpochDay() { return epochDay; }
+
+    public int getOffsetSeconds() { return offsetSeconds; }
+
+    public int getHour() { return hour; }
+
+    public int getMinute() { return minute; }
+
+    public int getSecond() { return second; }
+
+    public int getMillisecond() { return millisecond; }
+
+    /**
+     * Returns the angle of the hour hand in degrees.
+     * @param DISCRETE if true the hand will only move every hour
+     * @return the angle of the hour hand in degrees
+     */
+    public double getHourAngle(final boolean DISCRETE) { return DISCRETE ? hour * 30 : 0.5 * (60 * hour + minute); }
+
+    /**
+     * Returns the angle of the minute hand in degrees.
+     * @param DISCRETE if true the hand will only move every minute
+     * @return the angle of the minute hand in degrees
+     */
+    public double getMinuteAngle(final boolean DISCRETE) { return DISCRETE ? minute * 6 : minute * 6 + second * 0.1; }
+
+    /**
+     * Returns the angle of the second hand in degrees.
+     * @param DISCRETE if true the hand will only move every second
+     * @return the angle of the second hand in degrees
+     */
+    public double getSecondAngle(final boolean DISCRETE) { return DISCRETE ? second * 6 : second * 6 + millisecond * 0.006; }
+
+    /**
+     * Creates a ZonedDateTime from the last decomposed time which can be
+     * used for things that don't have to be updated on every tick.
+     * @return the last decomposed time as ZonedDateTime
+     */
+    public ZonedDateTime toZonedDateTime() { return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone); }
+
+    private boolean updateOffset(final long EPOCH_SECOND, final ZoneId ZONE) {
+        final boolean ZONE_CHANGED = !ZONE.equals(zone);
+        if (ZONE_CHANGED) {
+            zone  = ZONE;
+            rules = ZONE.getRules();
+        } else if (EPOCH_SECOND >= offsetValidFrom && EPOCH_SECOND < offsetValidUntil) {
+            return false;
+        }
+        final int OLD_OFFSET = offsetSeconds;
+        if (rules.isFixedOffset()) {
+            offsetSeconds    = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            offsetValidFrom  = Long.MIN_VALUE;
+            offsetValidUntil = Long.MAX_VALUE;
+        } else {
+            final Instant              INSTANT  = Instant.ofEpochSecond(EPOCH_SECOND);
+            final ZoneOffsetTransition PREVIOUS = rules.previousTransition(INSTANT.plusSeconds(1));
+            final ZoneOffsetTransition NEXT     = rules.nextTransition(INSTANT);
+            offsetSeconds    = rules.getOffset(INSTANT).getTotalSeconds();
+            offsetValidFrom  = null == PREVIOUS ? Long.MIN_VALUE : PREVIOUS.toEpochSecond();
+            offsetValidUntil = null == NEXT     ? Long.MAX_VALUE : NEXT.toEpochSecond();
+        }
+        return ZONE_CHANGED || OLD_OFFSET != offsetSeconds;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public interface ValueFilter {
+    /**
+     * Adds the given value to the filter and returns the filtered value.
+     * Implementations should not create objects in this method because it
+     * will be called for every value that will be set on a gauge.
+     * @param VALUE
+     * @return the filtered value
+     */
+    double filter(double VALUE);
+
+    /**
+     * Resets the internal state of the filter so that the next value
+     * will be treated as the first value.
+     */
+    void reset();
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class ValueHistory {
+    private final double[] values;
+    private final long[]   timestamps;
+    private       int      head;
+    private       int      size;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * A fixed size ring buffer that keeps the last CAPACITY values
+     * together with their timestamps in primitive arrays. Adding a value
+     * will not create any objects. If the buffer is full the oldest value
+     * will be overwritten.
+     * @param CAPACITY
+     */
+    public ValueHistory(final int CAPACITY) {
+        if (CAPACITY < 1) { throw new IllegalArgumentException("Capacity must be greater than 0"); }
+        values     = new double[CAPACITY];
+        timestamps = new long[CAPACITY];
+        head       = 0;
+        size       = 0;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Adds the given value with the given timestamp to the history.
+     * @param TIMESTAMP
+     * @param VALUE
+     */
+    public void add(final long TIMESTAMP, final double VALUE) {
+        values[head]     = VALUE;
+        timestamps[head] = TIMESTAMP;
+        head = (head + 1) % values.length;
+        if (size < values.length) { size++; }
+    }
+
+    /**
+     * Removes all values from the history.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the max number of values that can be stored in the history.
+     * @return the max number of values that can be stored in the history
+     */
+    public int getCapacity() { return values.length; }
+
+    /**
+     * Returns the number of values that are stored in the history.
+     * @return the number of values that are stored in the history
+     */
+    public int size() { return size; }
+
+    public boolean isEmpty() { return 0 == size; }
+
+    /**
+     * Returns the value at the given index where index 0 is the oldest
+     * and index size() - 1 the latest value.
+     * @param INDEX
+     * @return the value at the given index
+     */
+    public double getValue(final int INDEX) { return values[toArrayIndex(INDEX)]; }
+
+    /**
+     * Returns the timestamp at the given index where index 0 is the oldest
+     * and index size() - 1 the latest timestamp.
+     * @param INDEX
+     * @return the timestamp at the given index
+     */
+    public long getTimestamp(final int INDEX) { return timestamps[toArrayIndex(INDEX)]; }
+
+    /**
+     * Returns the latest value or Double.NaN if the history is empty.
+     * @return the latest value or Double.NaN if the history is empty
+     */
+    public double getLatestValue() { return isEmpty() ? Double.NaN : getValue(size - 1); }
+
+    /**
+     * Returns the index in the backing arrays where the oldest value is
+     * stored. Together with getValueArray(), getTimestampArray() and size()
+     * this can be used to read the history without copying it. The index of
+     * the n-th value is (getStartIndex() + n) % getCapacity().
+     * @return the index in the backing arrays where the oldest value is stored
+     */
+    public int getStartIndex() { return size < values.length ? 0 : head; }
+
+    /**
+     * Returns the backing array of the values. The array must not be modified.
+     * @return the backing array of the values
+     */
+    public double[] getValueArray() { return values; }
+
+    /**
+     * Returns the backing array of the timestamps. The array must not be modified.
+     * @return the backing array of the timestamps
+     */
+    public long[] getTimestampArray() { return timestamps; }
+
+    /**
+     * Calls the given consumer for each entry from the oldest to the latest
+     * entry without copying the history.
+     * @param CONSUMER
+     */
+    public void forEach(final SampleConsumer CONSUMER) {
+        final int START = getStartIndex();
+        for (int i = 0 ; i < size ; i++) {
+            int index = (START + i) % values.length;
+            CONSUMER.accept(timestamps[index], values[index]);
+        }
+    }
+
+    /**
+     * Copies the latest values into the given array and returns the number
+     * of copied values. The values will be stored from the oldest to the latest.
+     * @param TARGET
+     * @return the number of copied values
+     */
+    public int copyValues(final double[] TARGET) {
+        final int NO_OF_VALUES = Math.min(TARGET.length, size);
+        for (int i = 0 ; i < NO_OF_VALUES ; i++) { TARGET[i] = getValue(size - NO_OF_VALUES + i); }
+        return NO_OF_VALUES;
+    }
+
+    private int toArrayIndex(final int INDEX) {
+        if (INDEX < 0 || INDEX >= size) { throw new IndexOutOfBoundsException("Index: " + INDEX + ", Size: " + size); }
+        return (getStartIndex() + INDEX) % values.length;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    @FunctionalInterface
+    public interface SampleConsumer {
+        void accept(long timestamp, double value);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.medusa.tools;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Created by hansolo on 17.10.26.
+ */
+public class VisibilityTracker {
+    private final Node                   node;
+    private final ReadOnlyBooleanWrapper showing;
+    private final InvalidationListener   listener;
+    private final List<Node>             observedNodes;
+    private       Scene                  observedScene;
+    private       Window                 observedWindow;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Tracks if the given node is showing which means it is attached to a
+     * scene in a window that is showing and the node and all of its parents
+     * are visible (e.g. the content of a Tab that is not selected is not
+     * visible). Nodes that are only clipped (e.g. scrolled out of a
+     * ScrollPane) are still treated as showing.
+     * This class has to be used on the JavaFX application thread.
+     * @param NODE
+     */
+    public VisibilityTracker(final Node NODE) {
+        node          = NODE;
+        showing       = new ReadOnlyBooleanWrapper(VisibilityTracker.this, "showing");
+        listener      = o -> update();
+        observedNodes = new ArrayList<>();
+        update();
+    }
+
+
+    // ******************** Methods *******************************************
+    public boolean isShowing() { return showing.get(); }
+    public ReadOnlyBooleanProperty showingProperty() { return showing.getReadOnlyProperty(); }
+
+    /**
+     * Removes all listeners from the node, its parents, the scene and the window.
+     */
+    public void dispose() {
+        unobserve();
+        node.sceneProperty().removeListener(listener);
+    }
+
+    private void update() {
+        unobserve();
+        boolean visible = true;
+        for (Node n = node ; null != n ; n = n.getParent()) {
+            n.visibleProperty().addListener(listener);
+            n.parentProperty().addListener(listener);
+            observedNodes.add(n);
+            visible &= n.isVisible();
+        }
+        node.sceneProperty().removeListener(listener);
+        node.sceneProperty().addListener(listener);
+        observedScene = node.getScene();
+        if (null != observedScene) {
+            observedScene.windowProperty().addListener(listener);
+            observedWindow = observedScene.getWindow();
+            if (null != observedWindow) { observedWindow.showingProperty().addListener(listener); }
+        }
+        showing.set(visible && null != observedWindow && observedWindow.isShowing());
+    }
+
+    private void unobserve() {
+        for (Node n : observedNodes) {
+            n.visibleProperty().removeListener(listener);
+            n.parentProperty().removeListener(listener);
+        }
+        observedNodes.clear();
+        if (null != observedWindow) { observedWindow.showingProperty().removeListener(listener); }
+        if (null != observedScene) { observedScene.windowProperty().removeListener(listener); }
+        observedWindow = null;
+        observedScene  = null;
+    }
+}